@@ -0,0 +1,161 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Matches strings against a {@link RegularExpression}, switching to a specialized matcher once the
+ * expression becomes hot.
+ *
+ * <p>
+ * Initially, strings are matched with the compiled {@link java.util.regex.Pattern pattern} of the
+ * expression. After a given number of invocations, the expression is compiled into a matcher that
+ * doesn't go through the regular expression engine: the simple operators are matched with the
+ * search methods of {@code String}, and {@link RegularExpressionOperator#ADVANCED ADVANCED}
+ * expressions consisting of literals, character classes and simple quantifiers are matched with a
+ * small automaton that runs in linear time. Other expressions keep using the pattern. In all cases,
+ * the results are the same as those of {@link java.util.regex.Matcher#matches()}.
+ * </p>
+ *
+ * <p>
+ * Invocations are counted per expression: all the matchers created for the same
+ * {@code RegularExpression} instance share the invocation count and the specialized matcher, which
+ * are kept by the expression itself. An expression that is used from several places (e.g.
+ * obtained from a {@link RegularExpressionRegistry}) is thus only specialized once, as soon as the
+ * shared count reaches the threshold of any of its matchers.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread-safe. The invocation count is updated without
+ * synchronization, so concurrent invocations may lose some updates; this may delay the
+ * specialization, but doesn't affect the results.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+public final class AdaptiveMatcher {
+
+  /** The default number of invocations after which the expression is specialized. */
+  public static final int DEFAULT_THRESHOLD = 1000;
+
+  /** The expression being matched. */
+  @Getter
+  private final RegularExpression regularExpression;
+
+  /** The number of invocations after which the expression is specialized. */
+  @Getter
+  private final int threshold;
+
+  private final Hotness hotness;
+
+  /**
+   * Creates a new {@code AdaptiveMatcher} for the given regular expression, with the
+   * {@link #DEFAULT_THRESHOLD default threshold}.
+   *
+   * @param regex the regular expression to match
+   */
+  public AdaptiveMatcher(@NonNull RegularExpression regex) {
+    this(regex, DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Creates a new {@code AdaptiveMatcher} for the given regular expression.
+   *
+   * @param regex the regular expression to match
+   * @param threshold the number of invocations after which the expression is specialized, or 0 to
+   *        specialize it immediately
+   * @throws IllegalArgumentException if {@code threshold} is negative
+   */
+  public AdaptiveMatcher(@NonNull RegularExpression regex, int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("threshold cannot be negative");
+    }
+    regularExpression = regex;
+    this.threshold = threshold;
+    hotness = regex.getHotness();
+    if (threshold == 0 && !hotness.compiled) {
+      specialize();
+    }
+  }
+
+  /**
+   * Returns whether the entire input matches the regular expression.
+   *
+   * @param input the character sequence to match
+   * @return {@code true} if the entire input matches the regular expression
+   */
+  public boolean matches(@NonNull CharSequence input) {
+    long n = ++hotness.invocations;
+    SpecializedMatcher matcher = hotness.specialized;
+    if (matcher == null && !hotness.compiled && n >= threshold) {
+      matcher = specialize();
+    }
+    if (matcher != null) {
+      return matcher.matches(input);
+    }
+    return regularExpression.getPattern().matcher(input).matches();
+  }
+
+  private SpecializedMatcher specialize() {
+    // compilation is cheap and deterministic, concurrent invocations may compile it twice
+    SpecializedMatcher matcher = SpecializedMatcher.compile(regularExpression);
+    hotness.specialized = matcher;
+    hotness.compiled = true;
+    return matcher;
+  }
+
+  /**
+   * Returns whether the expression has been specialized. This is {@code false} before the
+   * threshold is reached, and for expressions that are not supported by the specialized matchers.
+   *
+   * @return {@code true} if strings are matched without the regular expression engine
+   */
+  public boolean isSpecialized() {
+    return hotness.specialized != null;
+  }
+
+  /**
+   * Returns the number of strings that have been matched against the expression, by this or any
+   * other {@code AdaptiveMatcher} for the same expression.
+   *
+   * @return the number of invocations of {@link #matches(CharSequence)} for the expression
+   */
+  public long getInvocationCount() {
+    return hotness.invocations;
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveMatcher[" + regularExpression + "]";
+  }
+
+  /** The invocation count and the specialized matcher of an expression. */
+  static final class Hotness {
+
+    private long invocations;
+
+    private volatile boolean compiled;
+
+    private volatile SpecializedMatcher specialized;
+  }
+
+}
@@ -0,0 +1,403 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.NonNull;
+
+/**
+ * A boolean combination of {@link RegularExpression regular expressions}.
+ *
+ * <p>
+ * Composite expressions are built with {@link #of(RegularExpression)}, {@link #and}, {@link #or}
+ * and {@link #not}, and are evaluated against a string with {@link #test(String)}. A string
+ * satisfies a regular expression if the entire string matches its pattern.
+ * </p>
+ *
+ * <p>
+ * The children of "and" and "or" expressions are evaluated with short-circuit, in an order that
+ * minimizes the expected cost of the evaluation. Each expression has an estimated cost (the simple
+ * operators are cheaper than {@link RegularExpressionOperator#ADVANCED ADVANCED} expressions) and
+ * a selectivity, that is, the probability of the expression being satisfied. Selectivity is
+ * initially estimated from the operator, and then refined with the results observed during
+ * evaluation. "And" expressions evaluate first the children that are cheap and likely to fail, and
+ * "or" expressions evaluate first the children that are cheap and likely to succeed. The order is
+ * recomputed periodically, so that it adapts to the actual data.
+ * </p>
+ *
+ * <p>
+ * Composite expressions can be evaluated concurrently. Statistics are updated without
+ * synchronization, so concurrent evaluations may lose some updates; this may affect the evaluation
+ * order, but not the results.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+public abstract class CompositeExpression implements Predicate<String> {
+
+  /** The weight of the estimated selectivity, in number of observations. */
+  private static final int PRIOR_WEIGHT = 16;
+
+  /** The number of evaluations between reorderings of the children. */
+  private static final int REORDER_INTERVAL = 256;
+
+  private long evaluations;
+
+  private long successes;
+
+  CompositeExpression() {}
+
+  /**
+   * Returns a composite expression that is satisfied by the strings that match the given regular
+   * expression.
+   *
+   * @param regex a regular expression
+   * @return a composite expression
+   */
+  public static CompositeExpression of(@NonNull RegularExpression regex) {
+    return new Leaf(regex);
+  }
+
+  /**
+   * Returns a composite expression that is satisfied if all the given expressions are satisfied.
+   * An empty conjunction is always satisfied.
+   *
+   * @param expressions the expressions to combine
+   * @return a composite expression
+   */
+  public static CompositeExpression and(@NonNull CompositeExpression... expressions) {
+    return and(Arrays.asList(expressions));
+  }
+
+  /**
+   * Returns a composite expression that is satisfied if all the given expressions are satisfied.
+   * An empty conjunction is always satisfied.
+   *
+   * @param expressions the expressions to combine
+   * @return a composite expression
+   */
+  public static CompositeExpression and(
+      @NonNull Collection<? extends CompositeExpression> expressions) {
+    return new Junction(true, expressions);
+  }
+
+  /**
+   * Returns a composite expression that is satisfied if all the given regular expressions are
+   * satisfied.
+   *
+   * @param regexes the regular expressions to combine
+   * @return a composite expression
+   */
+  public static CompositeExpression and(@NonNull RegularExpression... regexes) {
+    return and(leaves(regexes));
+  }
+
+  /**
+   * Returns a composite expression that is satisfied if any of the given expressions is
+   * satisfied. An empty disjunction is never satisfied.
+   *
+   * @param expressions the expressions to combine
+   * @return a composite expression
+   */
+  public static CompositeExpression or(@NonNull CompositeExpression... expressions) {
+    return or(Arrays.asList(expressions));
+  }
+
+  /**
+   * Returns a composite expression that is satisfied if any of the given expressions is
+   * satisfied. An empty disjunction is never satisfied.
+   *
+   * @param expressions the expressions to combine
+   * @return a composite expression
+   */
+  public static CompositeExpression or(
+      @NonNull Collection<? extends CompositeExpression> expressions) {
+    return new Junction(false, expressions);
+  }
+
+  /**
+   * Returns a composite expression that is satisfied if any of the given regular expressions is
+   * satisfied.
+   *
+   * @param regexes the regular expressions to combine
+   * @return a composite expression
+   */
+  public static CompositeExpression or(@NonNull RegularExpression... regexes) {
+    return or(leaves(regexes));
+  }
+
+  /**
+   * Returns a composite expression that is satisfied if the given expression is not satisfied.
+   *
+   * @param expression the expression to negate
+   * @return a composite expression
+   */
+  public static CompositeExpression not(@NonNull CompositeExpression expression) {
+    return new Negation(expression);
+  }
+
+  /**
+   * Returns a composite expression that is satisfied by the strings that don't match the given
+   * regular expression.
+   *
+   * @param regex the regular expression to negate
+   * @return a composite expression
+   */
+  public static CompositeExpression not(@NonNull RegularExpression regex) {
+    return not(of(regex));
+  }
+
+  private static List<CompositeExpression> leaves(RegularExpression[] regexes) {
+    return Stream.of(regexes).map(CompositeExpression::of).collect(Collectors.toList());
+  }
+
+  /**
+   * Evaluates this expression on the given string.
+   *
+   * @param s the string to test
+   * @return {@code true} if the string satisfies this expression, otherwise {@code false}
+   */
+  @Override
+  public final boolean test(@NonNull String s) {
+    boolean result = evaluate(s);
+    evaluations++;
+    if (result) {
+      successes++;
+    }
+    return result;
+  }
+
+  @Override
+  public CompositeExpression negate() {
+    return not(this);
+  }
+
+  abstract boolean evaluate(String s);
+
+  /**
+   * Returns the estimated cost of evaluating this expression. The cost is expressed in arbitrary
+   * units, where a simple operator costs about 1.
+   *
+   * @return the estimated cost of evaluating this expression
+   */
+  public abstract double getCost();
+
+  /** Returns the selectivity that is assumed before evaluating this expression. */
+  abstract double getEstimatedSelectivity();
+
+  /**
+   * Returns the estimated probability of this expression being satisfied. The estimation combines
+   * an initial guess with the results of previous evaluations.
+   *
+   * @return the selectivity of this expression, between 0 and 1
+   */
+  public double getSelectivity() {
+    return (successes + PRIOR_WEIGHT * getEstimatedSelectivity()) / (evaluations + PRIOR_WEIGHT);
+  }
+
+  /**
+   * Returns the number of times this expression has been evaluated. Children of "and" and "or"
+   * expressions are not evaluated when the result is decided by another child.
+   *
+   * @return the number of evaluations of this expression
+   */
+  public long getEvaluationCount() {
+    return evaluations;
+  }
+
+  /**
+   * Returns the children of this expression, in the order they are currently evaluated.
+   *
+   * @return the children of this expression
+   */
+  public abstract List<CompositeExpression> getChildren();
+
+  private static final class Leaf extends CompositeExpression {
+
+    private final RegularExpression regex;
+
+    private final AdaptiveMatcher matcher;
+
+    Leaf(RegularExpression regex) {
+      this.regex = regex;
+      matcher = new AdaptiveMatcher(regex);
+    }
+
+    @Override
+    boolean evaluate(String s) {
+      return matcher.matches(s);
+    }
+
+    @Override
+    public double getCost() {
+      return switch (regex.getOperator()) {
+        case EQUALS, STARTS_WITH, ENDS_WITH -> 1;
+        case CONTAINS -> 2;
+        case ADVANCED -> 10 + regex.getInput().length() / 4.0;
+      };
+    }
+
+    @Override
+    double getEstimatedSelectivity() {
+      return switch (regex.getOperator()) {
+        case EQUALS -> 0.01;
+        case STARTS_WITH, ENDS_WITH -> 0.1;
+        case CONTAINS -> 0.25;
+        case ADVANCED -> 0.5;
+      };
+    }
+
+    @Override
+    public List<CompositeExpression> getChildren() {
+      return List.of();
+    }
+
+    @Override
+    public String toString() {
+      return regex.toString();
+    }
+  }
+
+  private static final class Negation extends CompositeExpression {
+
+    private final CompositeExpression child;
+
+    Negation(CompositeExpression child) {
+      this.child = child;
+    }
+
+    @Override
+    boolean evaluate(String s) {
+      return !child.test(s);
+    }
+
+    @Override
+    public double getCost() {
+      return child.getCost();
+    }
+
+    @Override
+    double getEstimatedSelectivity() {
+      return 1 - child.getSelectivity();
+    }
+
+    @Override
+    public List<CompositeExpression> getChildren() {
+      return List.of(child);
+    }
+
+    @Override
+    public String toString() {
+      return "NOT " + child;
+    }
+  }
+
+  private static final class Junction extends CompositeExpression {
+
+    /** {@code true} for "and", {@code false} for "or". */
+    private final boolean conjunction;
+
+    private volatile CompositeExpression[] children;
+
+    private int countdown = REORDER_INTERVAL;
+
+    Junction(boolean conjunction, Collection<? extends CompositeExpression> children) {
+      this.conjunction = conjunction;
+      this.children = children.toArray(CompositeExpression[]::new);
+      for (CompositeExpression child : this.children) {
+        if (child == null) {
+          throw new NullPointerException("expressions cannot contain null elements");
+        }
+      }
+      reorder();
+    }
+
+    @Override
+    boolean evaluate(String s) {
+      if (--countdown <= 0) {
+        countdown = REORDER_INTERVAL;
+        reorder();
+      }
+      // "and" stops at the first false child, "or" stops at the first true child
+      for (CompositeExpression child : children) {
+        if (child.test(s) != conjunction) {
+          return !conjunction;
+        }
+      }
+      return conjunction;
+    }
+
+    /**
+     * Sorts the children so that the evaluation stops as early and as cheaply as possible. The
+     * optimal order for independent children is given by the ratio between the cost of each child
+     * and the probability that it decides the result.
+     */
+    private void reorder() {
+      CompositeExpression[] sorted = children.clone();
+      Arrays.sort(sorted, Comparator.comparingDouble(this::rank));
+      children = sorted;
+    }
+
+    private double rank(CompositeExpression child) {
+      double decisive = conjunction ? 1 - child.getSelectivity() : child.getSelectivity();
+      return decisive > 0 ? child.getCost() / decisive : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double getCost() {
+      // the expected cost of evaluating the children in the current order
+      double cost = 0;
+      double reached = 1;
+      for (CompositeExpression child : children) {
+        cost += reached * child.getCost();
+        reached *= conjunction ? child.getSelectivity() : 1 - child.getSelectivity();
+      }
+      return cost;
+    }
+
+    @Override
+    double getEstimatedSelectivity() {
+      // assume that the children are independent
+      double p = 1;
+      for (CompositeExpression child : children) {
+        p *= conjunction ? child.getSelectivity() : 1 - child.getSelectivity();
+      }
+      return conjunction ? p : 1 - p;
+    }
+
+    @Override
+    public List<CompositeExpression> getChildren() {
+      return List.of(children);
+    }
+
+    @Override
+    public String toString() {
+      return Stream.of(children).map(child -> "(" + child + ")")
+          .collect(Collectors.joining(conjunction ? " AND " : " OR "));
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Reports the work performed by the regular expression engine while matching a string.
+ *
+ * <p>
+ * The work is measured as the number of characters read by the engine. Backtracking causes the same
+ * characters to be read several times, so a large number of reads relative to the length of the
+ * input denotes an expensive match. Unlike the elapsed time, which is also reported, the number of
+ * reads does not depend on the load of the system.
+ * </p>
+ *
+ * <p>
+ * Since an expensive match may not finish in a reasonable time, the number of reads can be
+ * limited. If the limit is exceeded, the match is aborted and the profile is reported as
+ * {@link #isExceeded() exceeded}.
+ * </p>
+ *
+ * @author Javier Godoy
+ * @see RegularExpression#profile(CharSequence)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MatchProfile {
+
+  /** Whether the input matched the pattern. This is {@code false} if the match was aborted. */
+  private final boolean matched;
+
+  /** Whether the match was aborted because it exceeded the maximum number of reads. */
+  private final boolean exceeded;
+
+  /** The length of the input. */
+  private final int length;
+
+  /** The number of characters read by the regular expression engine. */
+  private final long reads;
+
+  /** The elapsed time, in nanoseconds. */
+  private final long nanos;
+
+  /**
+   * Matches the given input against a pattern, and measures the work performed by the regular
+   * expression engine. The match is aborted after {@code maxReads} characters have been read.
+   */
+  static MatchProfile profile(Pattern pattern, CharSequence input, long maxReads) {
+    if (maxReads < 0) {
+      throw new IllegalArgumentException("maxReads cannot be negative");
+    }
+    CountingCharSequence counting = new CountingCharSequence(input, maxReads);
+    long start = System.nanoTime();
+    boolean matched = false;
+    boolean exceeded = false;
+    try {
+      matched = pattern.matcher(counting).matches();
+    } catch (ReadLimitExceededException e) {
+      exceeded = true;
+    }
+    long nanos = System.nanoTime() - start;
+    return new MatchProfile(matched, exceeded, input.length(), counting.reads, nanos);
+  }
+
+  /**
+   * Returns the number of characters read by the regular expression engine per character of input.
+   *
+   * @return the number of reads per character, or the number of reads if the input is empty
+   */
+  public double getReadsPerChar() {
+    return length > 0 ? (double) reads / length : reads;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %d reads (%.1f/char), %.1f \u00b5s",
+        exceeded ? "exceeded" : matched ? "match" : "no match", reads, getReadsPerChar(),
+        nanos / 1000.0);
+  }
+
+  private static final class CountingCharSequence implements CharSequence {
+
+    private final CharSequence delegate;
+
+    private final long maxReads;
+
+    private long reads;
+
+    CountingCharSequence(CharSequence delegate, long maxReads) {
+      this.delegate = delegate;
+      this.maxReads = maxReads;
+    }
+
+    @Override
+    public int length() {
+      return delegate.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (reads == maxReads) {
+        throw new ReadLimitExceededException();
+      }
+      reads++;
+      return delegate.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      // the engine uses subsequences for reporting groups, which doesn't count as work
+      return delegate.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+  }
+
+  /** Aborts a match that exceeded the maximum number of reads. */
+  private static final class ReadLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    ReadLimitExceededException() {
+      // the stack trace is not needed, since the exception is always caught
+      super(null, null, false, false);
+    }
+  }
+
+}
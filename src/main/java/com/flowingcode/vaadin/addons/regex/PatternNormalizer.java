@@ -0,0 +1,482 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.CONTAINS;
+import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.ENDS_WITH;
+import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.EQUALS;
+import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.STARTS_WITH;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes patterns that are equivalent to one of the simple {@link RegularExpressionOperator
+ * operators}.
+ *
+ * <p>
+ * The pattern is parsed as a sequence of literal characters and {@code .*} wildcards, optionally
+ * anchored with {@code ^}/{@code \A} and {@code $}/{@code \z}. Literal characters may be written
+ * plainly, escaped (e.g. {@code \.}, {@code \t}, {@code \x41}), quoted with {@code \Q...\E}, or as
+ * a single-character class such as {@code [.]}. Any other construct (including compilation flags
+ * and embedded flags) causes the pattern to be left unrecognized.
+ * </p>
+ *
+ * <p>
+ * Equivalence is defined with respect to {@link java.util.regex.Matcher#matches()}, which is how
+ * patterns are applied by this add-on.
+ * </p>
+ *
+ * <p>
+ * In addition, this class extracts the literal substrings that any string matched by a pattern must
+ * contain, which allows discarding candidates before running the regular expression engine.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+final class PatternNormalizer {
+
+  // outside a character class, ']' and '}' are literals
+  private static final String METACHARS = ".?+*[(){|^$\\";
+
+  private final String regex;
+
+  private int pos;
+
+  private PatternNormalizer(String regex) {
+    this.regex = regex;
+  }
+
+  /**
+   * Returns a {@code RegularExpression} with a simple operator that is equivalent to the given
+   * pattern, or {@code null} if the pattern cannot be expressed with a simple operator.
+   */
+  static RegularExpression normalize(Pattern pattern) {
+    if (pattern.flags() != 0) {
+      return null;
+    }
+    return new PatternNormalizer(pattern.pattern()).normalize();
+  }
+
+  /**
+   * Returns a list of literal strings that must be contained in any string matched by the given
+   * pattern. The list is empty if no such literal can be determined (e.g. because the pattern
+   * contains top-level alternations, or was compiled with flags).
+   */
+  static List<String> requiredLiterals(Pattern pattern) {
+    if (pattern.flags() != 0) {
+      return List.of();
+    }
+    return new PatternNormalizer(pattern.pattern()).requiredLiterals();
+  }
+
+  private RegularExpression normalize() {
+    // leading anchor
+    if (regex.startsWith("^")) {
+      pos = 1;
+    } else if (regex.startsWith("\\A")) {
+      pos = 2;
+    }
+
+    boolean leadingWildcard = parseWildcard();
+    while (parseWildcard()) {
+      // .*.* is the same as .*
+    }
+
+    StringBuilder literal = new StringBuilder();
+    while (pos < regex.length() && !isAtWildcard() && !isAtEndAnchor()) {
+      if (!parseLiteral(literal)) {
+        return null;
+      }
+    }
+
+    boolean trailingWildcard = false;
+    while (parseWildcard()) {
+      trailingWildcard = true;
+    }
+
+    // trailing anchor
+    if (isAtEndAnchor()) {
+      pos = regex.length();
+    }
+
+    if (pos != regex.length()) {
+      return null;
+    }
+
+    RegularExpressionOperator operator;
+    if (leadingWildcard && (trailingWildcard || literal.length() == 0)) {
+      // a lone .* is the same as .*.*
+      operator = CONTAINS;
+    } else if (leadingWildcard) {
+      operator = ENDS_WITH;
+    } else if (trailingWildcard) {
+      operator = STARTS_WITH;
+    } else {
+      operator = EQUALS;
+    }
+    return new RegularExpression(operator, literal.toString());
+  }
+
+  private List<String> requiredLiterals() {
+    List<String> literals = new ArrayList<>();
+    StringBuilder run = new StringBuilder();
+    while (pos < regex.length()) {
+      char c = regex.charAt(pos);
+      int start = run.length();
+      if (c == '|') {
+        // top-level alternation: nothing is required
+        return List.of();
+      } else if (c == '(') {
+        if (!skipGroup()) {
+          return List.of();
+        }
+        flush(run, literals);
+        skipQuantifier();
+        continue;
+      } else if (c == '[') {
+        skipCharClass();
+        flush(run, literals);
+        skipQuantifier();
+        continue;
+      } else if (c == '.' || c == '^' || c == '$') {
+        pos++;
+        flush(run, literals);
+        skipQuantifier();
+        continue;
+      } else if (regex.startsWith("\\Q", pos)) {
+        int end = regex.indexOf("\\E", pos + 2);
+        if (end < 0) {
+          end = regex.length();
+        }
+        run.append(regex, pos + 2, end);
+        pos = Math.min(end + 2, regex.length());
+        start = Math.max(start, run.length() - 1);
+      } else if (c == '\\') {
+        int escape = ++pos;
+        if (!parseEscape(run)) {
+          pos = escape;
+          if (!skipEscape()) {
+            return List.of();
+          }
+          flush(run, literals);
+          skipQuantifier();
+          continue;
+        }
+      } else if ("?+*{".indexOf(c) >= 0) {
+        // dangling quantifier, this should not happen in a valid pattern
+        return List.of();
+      } else {
+        run.append(c);
+        pos++;
+      }
+
+      if (isAtQuantifier() && run.length() > start) {
+        // the quantifier applies to the last character of the run
+        char q = regex.charAt(pos);
+        boolean optional = q == '?' || q == '*' || regex.startsWith("{0", pos);
+        if (optional) {
+          int last = run.length() - 1;
+          if (last > 0 && Character.isLowSurrogate(run.charAt(last))
+              && Character.isHighSurrogate(run.charAt(last - 1))) {
+            // the quantifier applies to the whole code point
+            last--;
+          }
+          run.setLength(last);
+        }
+        flush(run, literals);
+        skipQuantifier();
+      }
+    }
+    flush(run, literals);
+    return literals;
+  }
+
+  private static void flush(StringBuilder run, List<String> literals) {
+    if (run.length() > 0) {
+      literals.add(run.toString());
+      run.setLength(0);
+    }
+  }
+
+  /** Skips a quantifier, including its reluctant or possessive modifier. */
+  private void skipQuantifier() {
+    if (pos >= regex.length()) {
+      return;
+    }
+    char c = regex.charAt(pos);
+    if (c == '{') {
+      int end = regex.indexOf('}', pos);
+      pos = end < 0 ? regex.length() : end + 1;
+    } else if (c == '?' || c == '*' || c == '+') {
+      pos++;
+    } else {
+      return;
+    }
+    if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+      pos++;
+    }
+  }
+
+  /**
+   * Skips an escape sequence (without the leading backslash) that is not a single character.
+   * Returns {@code false} if the escape sequence is not understood, since its operands could
+   * otherwise be mistaken for literal characters.
+   */
+  private boolean skipEscape() {
+    if (pos >= regex.length()) {
+      return false;
+    }
+    char c = regex.charAt(pos++);
+    if ("dDsSwWhHvVbBAGzZRX".indexOf(c) >= 0) {
+      return true;
+    } else if ("pPxkN".indexOf(c) >= 0 && pos < regex.length()
+        && (regex.charAt(pos) == '{' || regex.charAt(pos) == '<')) {
+      int end = regex.indexOf(regex.charAt(pos) == '{' ? '}' : '>', pos);
+      pos = end < 0 ? regex.length() : end + 1;
+      return end >= 0;
+    } else if (c == 'p' || c == 'P' || c == 'c') {
+      // single-letter property name, or control character
+      return ++pos <= regex.length();
+    } else if (c == 'x' || c == 'u') {
+      // hexadecimal escape that was not parsed as a literal (e.g. a surrogate)
+      pos += c == 'x' ? 2 : 4;
+      return pos <= regex.length();
+    } else if (c >= '0' && c <= '9') {
+      // octal escape or back reference
+      while (pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+        pos++;
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  /** Skips a (possibly nested) character class. */
+  private void skipCharClass() {
+    int depth = 0;
+    boolean first = false;
+    while (pos < regex.length()) {
+      char c = regex.charAt(pos++);
+      if (c == '\\') {
+        if (regex.startsWith("Q", pos)) {
+          int end = regex.indexOf("\\E", pos);
+          pos = end < 0 ? regex.length() : end + 2;
+        } else {
+          pos++;
+        }
+      } else if (c == '[') {
+        depth++;
+        first = true;
+        if (pos < regex.length() && regex.charAt(pos) == '^') {
+          pos++;
+        }
+        continue;
+      } else if (c == ']' && !first && --depth == 0) {
+        return;
+      }
+      first = false;
+    }
+  }
+
+  /**
+   * Skips a group. Returns {@code false} if the group sets embedded flags, since those affect the
+   * rest of the pattern.
+   */
+  private boolean skipGroup() {
+    if (regex.startsWith("(?", pos) && pos + 2 < regex.length()
+        && ":=!<>".indexOf(regex.charAt(pos + 2)) < 0) {
+      return false;
+    }
+    int depth = 0;
+    while (pos < regex.length()) {
+      char c = regex.charAt(pos);
+      if (c == '\\') {
+        if (regex.startsWith("\\Q", pos)) {
+          int end = regex.indexOf("\\E", pos + 2);
+          pos = end < 0 ? regex.length() : end + 2;
+        } else {
+          pos += 2;
+        }
+        continue;
+      } else if (c == '[') {
+        skipCharClass();
+        continue;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        pos++;
+        return true;
+      }
+      pos++;
+    }
+    return true;
+  }
+
+  private boolean isAtEndAnchor() {
+    return regex.startsWith("$", pos) && pos + 1 == regex.length()
+        || regex.startsWith("\\z", pos) && pos + 2 == regex.length();
+  }
+
+  private boolean isAtWildcard() {
+    return regex.startsWith(".*", pos);
+  }
+
+  /** Consumes a greedy or reluctant {@code .*} wildcard. */
+  private boolean parseWildcard() {
+    if (!isAtWildcard()) {
+      return false;
+    }
+    int end = pos + 2;
+    if (regex.startsWith("?", end)) {
+      // reluctant and greedy quantifiers accept the same strings under matches()
+      end++;
+    }
+    if (end < regex.length() && "?+*{".indexOf(regex.charAt(end)) >= 0) {
+      // possessive quantifiers, or something else we don't understand
+      return false;
+    }
+    pos = end;
+    return true;
+  }
+
+  /** Consumes a literal element and appends the characters it matches. */
+  private boolean parseLiteral(StringBuilder sb) {
+    int start = sb.length();
+    char c = regex.charAt(pos);
+    if (regex.startsWith("\\Q", pos)) {
+      int end = regex.indexOf("\\E", pos + 2);
+      if (end < 0) {
+        end = regex.length();
+      }
+      sb.append(regex, pos + 2, end);
+      pos = Math.min(end + 2, regex.length());
+      if (sb.length() == start) {
+        // an empty quotation is harmless, but it must not be quantified
+        return !isAtQuantifier();
+      }
+    } else if (c == '\\') {
+      pos++;
+      if (!parseEscape(sb)) {
+        return false;
+      }
+    } else if (c == '[') {
+      if (!parseSingleCharClass(sb)) {
+        return false;
+      }
+    } else if (METACHARS.indexOf(c) >= 0) {
+      return false;
+    } else if (Character.isHighSurrogate(c) && pos + 1 < regex.length()
+        && Character.isLowSurrogate(regex.charAt(pos + 1))) {
+      sb.append(regex, pos, pos + 2);
+      pos += 2;
+    } else {
+      sb.append(c);
+      pos++;
+    }
+
+    // a quantifier applies to the last character, which we can't represent as a literal
+    return !isAtQuantifier();
+  }
+
+  private boolean isAtQuantifier() {
+    return pos < regex.length() && "?+*{".indexOf(regex.charAt(pos)) >= 0;
+  }
+
+  /** Parses an escape sequence (without the leading backslash) denoting a single character. */
+  private boolean parseEscape(StringBuilder sb) {
+    if (pos >= regex.length()) {
+      return false;
+    }
+    char c = regex.charAt(pos++);
+    switch (c) {
+      case 't' -> sb.append('\t');
+      case 'n' -> sb.append('\n');
+      case 'r' -> sb.append('\r');
+      case 'f' -> sb.append('\f');
+      case 'a' -> sb.append('\u0007');
+      case 'e' -> sb.append('\u001B');
+      case 'x' -> {
+        return parseHex(sb, 2);
+      }
+      case 'u' -> {
+        return parseHex(sb, 4);
+      }
+      default -> {
+        if (c >= 128 || Character.isLetterOrDigit(c)) {
+          // character classes, back references, boundaries, etc.
+          return false;
+        }
+        sb.append(c);
+      }
+    }
+    return true;
+  }
+
+  private boolean parseHex(StringBuilder sb, int digits) {
+    if (pos + digits > regex.length()) {
+      return false;
+    }
+    int value = 0;
+    for (int i = 0; i < digits; i++) {
+      int d = Character.digit(regex.charAt(pos + i), 16);
+      if (d < 0) {
+        return false;
+      }
+      value = value * 16 + d;
+    }
+    if (digits == 4 && Character.isSurrogate((char) value)) {
+      // surrogate escapes may combine with the following escape
+      return false;
+    }
+    pos += digits;
+    sb.append((char) value);
+    return true;
+  }
+
+  /** Parses a character class that contains a single literal character, such as {@code [.]}. */
+  private boolean parseSingleCharClass(StringBuilder sb) {
+    // [c] or [\c]
+    int p = pos + 1;
+    if (p >= regex.length()) {
+      return false;
+    }
+    char c = regex.charAt(p++);
+    if (c == '\\') {
+      if (p >= regex.length()) {
+        return false;
+      }
+      c = regex.charAt(p++);
+      if (c >= 128 || Character.isLetterOrDigit(c)) {
+        return false;
+      }
+    } else if ("^[]&".indexOf(c) >= 0 || Character.isSurrogate(c)) {
+      return false;
+    }
+    if (p >= regex.length() || regex.charAt(p) != ']') {
+      return false;
+    }
+    sb.append(c);
+    pos = p + 1;
+    return true;
+  }
+
+}
@@ -20,9 +20,9 @@
 package com.flowingcode.vaadin.addons.regex;
 
 import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.ADVANCED;
-import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.CONTAINS;
-import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.ENDS_WITH;
-import static com.flowingcode.vaadin.addons.regex.RegularExpressionOperator.STARTS_WITH;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import lombok.AccessLevel;
@@ -64,6 +64,10 @@ public final class RegularExpression {
   /** The compiled {@code Pattern} for the regular expression. */
   private final Pattern pattern;
 
+  /** The state shared by the {@link AdaptiveMatcher adaptive matchers} of this expression. */
+  @Getter(AccessLevel.PACKAGE)
+  private final AdaptiveMatcher.Hotness hotness = new AdaptiveMatcher.Hotness();
+
   /**
    * Creates a new {@code RegularExpression} based on the specified {@code operator} and
    * {@code input}.
@@ -83,22 +87,17 @@ public final class RegularExpression {
       case CONTAINS -> ANY + quote(input) + ANY;
       case ENDS_WITH -> ANY + quote(input);
       case STARTS_WITH -> quote(input) + ANY;
+      case EQUALS -> quote(input);
     };
 
     pattern = Pattern.compile(regex);
   }
 
-  private final static String CHARS = ".?+*\\[({$^|\\\\";
-
-  private final static Pattern SIMPLE_PATTERN =
-      Pattern.compile("(?:[^CHARS]|\\\\[CHARS])+".replace("CHARS", CHARS));
+  private final static String CHARS = ".?+*\\[(){$^|\\\\";
 
   private final static Pattern ESCAPE_PATTERN =
       Pattern.compile("[CHARS]".replace("CHARS", CHARS));
 
-  private final static Pattern UNQUOTE_PATTERN =
-      Pattern.compile("\\\\([CHARS])".replace("CHARS", CHARS));
-
   private static String quote(String input) {
     String s1 = ESCAPE_PATTERN.matcher(input).replaceAll("\\\\$0");
     String s2 = "\\Q" + input.replace("\\E", "\\E\\\\E\\Q") + "\\E";
@@ -110,9 +109,18 @@ public final class RegularExpression {
    *
    * <p>
    * This method attempts to determine if the pattern corresponds to a simple
-   * {@link RegularExpressionOperator} like "starts with", "ends with", or "contains". If it does, a
-   * corresponding {@code RegularExpression} is returned. Otherwise, an advanced mode expression is
-   * created.
+   * {@link RegularExpressionOperator} like "starts with", "ends with", "contains" or "equals". If
+   * it does, a corresponding {@code RegularExpression} is returned. Otherwise, an advanced mode
+   * expression is created.
+   * </p>
+   *
+   * <p>
+   * Patterns are recognized if they only consist of literal characters (plain, escaped, quoted with
+   * {@code \Q...\E}, or written as single-character classes such as {@code [.]}) and leading or
+   * trailing {@code .*} wildcards, optionally anchored with {@code ^} and {@code $}. For instance,
+   * {@code ^foo.*$} and {@code .*?foo.*} are recognized as "starts with" and "contains", and the
+   * trivial patterns {@code ^$} and {@code .*} as "equals" and "contains" an empty string. Patterns
+   * compiled with flags are always treated as advanced expressions.
    * </p>
    *
    * @param pattern the pattern to analyze
@@ -127,39 +135,124 @@ public final class RegularExpression {
       throw new NullPointerException("Pattern cannot be null");
     }
 
-    String regex = pattern.pattern();
-    boolean hasLeadingWildcard = false;
-    boolean hasTrailingWildcard = false;
-    if (regex.startsWith(ANY)) {
-      hasLeadingWildcard = true;
-      regex = regex.substring(2);
+    RegularExpression normalized = PatternNormalizer.normalize(pattern);
+    if (normalized != null) {
+      return normalized;
     }
 
-    if (regex.endsWith(ANY)) {
-      hasTrailingWildcard = true;
-      regex = regex.substring(0, regex.length() - 2);
-    }
+    return new RegularExpression(ADVANCED, pattern.pattern(), pattern);
+  }
 
-    String input = null;
-    if (hasLeadingWildcard || hasTrailingWildcard) {
-      if (SIMPLE_PATTERN.matcher(regex).matches()) {
-        input = UNQUOTE_PATTERN.matcher(regex).replaceAll("$1");
-      } else if (regex.startsWith("\\Q") && regex.endsWith("\\E")) {
-        input = regex.substring(2, regex.length() - 2).replace("\\E\\\\E\\Q", "\\E");
-      }
-    }
+  /**
+   * Returns a prefix that is shared by all the strings matched by this expression.
+   *
+   * <p>
+   * The prefix is available for {@link RegularExpressionOperator#STARTS_WITH STARTS_WITH} and
+   * {@link RegularExpressionOperator#EQUALS EQUALS} expressions. Since strings starting with a
+   * given prefix are contiguous in lexicographic order, it can be used for range lookups over
+   * sorted collections. Note that having the prefix is a necessary but not sufficient condition for
+   * matching (e.g. the pattern of a "starts with" expression does not match line terminators after
+   * the prefix).
+   * </p>
+   *
+   * @return the prefix, or an empty {@code Optional} if this expression doesn't define one.
+   */
+  public Optional<String> getPrefix() {
+    return switch (operator) {
+      case STARTS_WITH, EQUALS -> Optional.of(input);
+      default -> Optional.empty();
+    };
+  }
+
+  /**
+   * Returns a suffix that is shared by all the strings matched by this expression.
+   *
+   * <p>
+   * The suffix is available for {@link RegularExpressionOperator#ENDS_WITH ENDS_WITH} and
+   * {@link RegularExpressionOperator#EQUALS EQUALS} expressions. It can be used for range lookups
+   * over collections sorted by their reversed strings. As with {@link #getPrefix()}, having the
+   * suffix is a necessary but not sufficient condition for matching.
+   * </p>
+   *
+   * @return the suffix, or an empty {@code Optional} if this expression doesn't define one.
+   */
+  public Optional<String> getSuffix() {
+    return switch (operator) {
+      case ENDS_WITH, EQUALS -> Optional.of(input);
+      default -> Optional.empty();
+    };
+  }
 
-    if (input != null) {
-      if (hasLeadingWildcard && hasTrailingWildcard) {
-        return new RegularExpression(CONTAINS, input);
-      } else if (hasLeadingWildcard) {
-        return new RegularExpression(ENDS_WITH, input);
-      } else if (hasTrailingWildcard) {
-        return new RegularExpression(STARTS_WITH, input);
-      }
+  /**
+   * Matches the given input against this expression, and measures the work performed by the
+   * regular expression engine. This is intended for diagnosing expensive patterns, since
+   * measuring the work adds overhead to the match.
+   *
+   * @param input the string to match
+   * @return a profile of the match
+   */
+  public MatchProfile profile(@NonNull CharSequence input) {
+    return MatchProfile.profile(pattern, input, Long.MAX_VALUE);
+  }
+
+  /**
+   * Matches the given input against this expression, and measures the work performed by the
+   * regular expression engine, aborting the match if the regular expression engine reads more
+   * than {@code maxReads} characters. This allows profiling inputs that cause catastrophic
+   * backtracking.
+   *
+   * @param input the string to match
+   * @param maxReads the maximum number of characters that can be read
+   * @return a profile of the match, which is {@link MatchProfile#isExceeded() exceeded} if the
+   *        match was aborted
+   * @throws IllegalArgumentException if {@code maxReads} is negative
+   */
+  public MatchProfile profile(@NonNull CharSequence input, long maxReads) {
+    return MatchProfile.profile(pattern, input, maxReads);
+  }
+
+  /**
+   * Returns a list of literal strings that must be contained in any string matched by this
+   * expression. The list may be empty if no such literals can be determined.
+   */
+  List<String> getRequiredLiterals() {
+    if (operator == ADVANCED) {
+      return PatternNormalizer.requiredLiterals(pattern);
+    } else {
+      return List.of(input);
     }
+  }
 
-    return new RegularExpression(ADVANCED, pattern.pattern(), pattern);
+  /**
+   * Returns whether the input of this expression can be matched as a sequence of {@code char}s,
+   * that is, whether it doesn't contain unpaired surrogates (which the regular expression engine
+   * matches by code point).
+   */
+  boolean hasWellFormedInput() {
+    return new String(input.getBytes(UTF_8), UTF_8).equals(input);
+  }
+
+  /**
+   * Returns whether the given code point is a line terminator. Line terminators are not matched by
+   * the {@code .*} wildcard of the simple operators.
+   */
+  static boolean isLineTerminator(int c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+
+  /**
+   * Returns whether an occurrence of the input of a "contains" expression makes the whole string
+   * match. Since the wildcards don't match line terminators, the occurrence must cover all of them.
+   *
+   * @param start the start of the occurrence
+   * @param end the end of the occurrence
+   * @param firstLineTerminator the position of the first line terminator in the string, or -1
+   * @param lastLineTerminatorEnd the position after the last line terminator in the string
+   */
+  static boolean coversLineTerminators(long start, long end, long firstLineTerminator,
+      long lastLineTerminatorEnd) {
+    return firstLineTerminator < 0
+        || start <= firstLineTerminator && end >= lastLineTerminatorEnd;
   }
 
   @Override
@@ -32,7 +32,7 @@ import java.util.regex.PatternSyntaxException;
  * <h2>Features:</h2>
  * <ul>
  * <li>Dropdown selection of predefined pattern types: {@code STARTS_WITH}, {@code ENDS_WITH},
- * {@code CONTAINS}.</li>
+ * {@code CONTAINS}, {@code EQUALS}.</li>
  * <li>An {@code ADVANCED} mode for custom regular expressions.</li>
  * <li>Text input field for defining the pattern.</li>
  * <li>Real-time validation of words in the list when in advanced mode.</li>
@@ -133,6 +133,25 @@ public class RegularExpressionField extends CustomField<RegularExpression> {
     return testFieldEnabled;
   }
 
+  /**
+   * Enables or disables profiling in the test field.
+   *
+   * @param enabled {@code true} to enable profiling, {@code false} to disable it
+   * @see RegularExpressionTestField#setProfilingEnabled(boolean)
+   */
+  public void setTestFieldProfilingEnabled(boolean enabled) {
+    testField.setProfilingEnabled(enabled);
+  }
+
+  /**
+   * Checks whether profiling is enabled in the test field.
+   *
+   * @return {@code true} if profiling is enabled, otherwise {@code false}
+   */
+  public boolean isTestFieldProfilingEnabled() {
+    return testField.isProfilingEnabled();
+  }
+
   /**
    * Sets the regular expression operator for this component.
    *
@@ -0,0 +1,186 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import lombok.NonNull;
+
+/**
+ * An immutable collection of strings indexed for searching with {@link RegularExpression}.
+ *
+ * <p>
+ * The index maps each trigram (i.e. each substring of three characters) to the sorted list of
+ * strings that contain it. When searching, the literals that must be contained in any matching
+ * string are decomposed into trigrams, and only the strings that contain all of them are verified
+ * with the regular expression. Expressions without such literals (e.g. advanced expressions with
+ * top-level alternations) are verified against all the strings in the collection.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+public final class RegularExpressionIndex {
+
+  private static final int N = 3;
+
+  private static final int[] EMPTY = new int[0];
+
+  private final String[] strings;
+
+  private final Map<Long, int[]> postings;
+
+  /**
+   * Creates a new index over the given strings.
+   *
+   * @param strings the strings to index
+   * @throws NullPointerException if {@code strings} or any of its elements is {@code null}.
+   */
+  public RegularExpressionIndex(@NonNull Collection<String> strings) {
+    this.strings = strings.toArray(String[]::new);
+
+    Map<Long, IntList> lists = new HashMap<>();
+    for (int id = 0; id < this.strings.length; id++) {
+      String s = this.strings[id];
+      for (int i = 0; i + N <= s.length(); i++) {
+        IntList list = lists.computeIfAbsent(trigram(s, i), k -> new IntList());
+        // ids are added in increasing order, so duplicates are always at the end
+        if (list.size == 0 || list.values[list.size - 1] != id) {
+          list.add(id);
+        }
+      }
+    }
+
+    postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+    lists.forEach((k, v) -> postings.put(k, v.toArray()));
+  }
+
+  private static long trigram(CharSequence s, int i) {
+    return (long) s.charAt(i) << 32 | (long) s.charAt(i + 1) << 16 | s.charAt(i + 2);
+  }
+
+  /** Returns the number of strings in this index. */
+  public int size() {
+    return strings.length;
+  }
+
+  /**
+   * Returns the strings in this index that match the given regular expression, in the order they
+   * were provided when the index was created.
+   *
+   * @param regex the regular expression to search for
+   * @return a list of the matching strings
+   */
+  public List<String> search(@NonNull RegularExpression regex) {
+    int[] candidates = candidates(regex);
+    List<String> result = new ArrayList<>();
+    Matcher matcher = regex.getPattern().matcher("");
+    if (candidates == null) {
+      for (String s : strings) {
+        if (matcher.reset(s).matches()) {
+          result.add(s);
+        }
+      }
+    } else {
+      for (int id : candidates) {
+        if (matcher.reset(strings[id]).matches()) {
+          result.add(strings[id]);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the sorted ids of the strings that contain all the trigrams of the required literals,
+   * or {@code null} if the literals don't constrain the search.
+   */
+  private int[] candidates(RegularExpression regex) {
+    List<int[]> lists = new ArrayList<>();
+    for (String literal : regex.getRequiredLiterals()) {
+      for (int i = 0; i + N <= literal.length(); i++) {
+        int[] list = postings.get(trigram(literal, i));
+        if (list == null) {
+          return EMPTY;
+        }
+        lists.add(list);
+      }
+    }
+
+    if (lists.isEmpty()) {
+      return null;
+    }
+
+    // intersect starting from the shortest lists
+    lists.sort(Comparator.comparingInt(list -> list.length));
+    int[] result = lists.get(0);
+    for (int i = 1; i < lists.size() && result.length > 0; i++) {
+      if (lists.get(i) != result) {
+        result = intersect(result, lists.get(i));
+      }
+    }
+    return result;
+  }
+
+  private static int[] intersect(int[] a, int[] b) {
+    int[] result = new int[Math.min(a.length, b.length)];
+    int n = 0;
+    for (int i = 0, j = 0; i < a.length && j < b.length;) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        result[n++] = a[i];
+        i++;
+        j++;
+      }
+    }
+    return n == result.length ? result : Arrays.copyOf(result, n);
+  }
+
+  private static final class IntList {
+
+    private int[] values = new int[4];
+
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+
+}
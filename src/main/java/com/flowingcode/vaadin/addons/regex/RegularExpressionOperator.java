@@ -36,6 +36,9 @@ public enum RegularExpressionOperator {
   /** Matches strings that contain a given substring. */
   CONTAINS,
 
+  /** Matches strings that are equal to a given string. */
+  EQUALS,
+
   /** Enables advanced custom regular expressions with validation support. */
   ADVANCED;
 
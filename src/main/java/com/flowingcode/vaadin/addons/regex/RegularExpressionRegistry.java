@@ -0,0 +1,282 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+
+/**
+ * An immutable registry of named {@link RegularExpression regular expressions}, loaded at startup.
+ *
+ * <p>
+ * Definitions are read in {@link Properties} format, where the key is the name of the expression
+ * and the value is the operator, followed by a single space and the input of the expression (i.e.
+ * the same format as {@link RegularExpression#toString()}):
+ * </p>
+ *
+ * <pre>
+ * product.code = STARTS_WITH PRD-
+ * log.error = ADVANCED .*\\bERROR\\b.*
+ * </pre>
+ *
+ * <p>
+ * Definitions are compiled in parallel, and all of them are validated before the registry is
+ * created. Lookups by name return shared instances, which can be used as the value of a
+ * {@link RegularExpressionField}. Optionally, {@link #warmUp(int)} runs a short synthetic match
+ * workload, so that the classes of the regular expression engine are loaded and its hot paths are
+ * compiled before the first actual request.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+public final class RegularExpressionRegistry {
+
+  private final Map<String, RegularExpression> expressions;
+
+  private RegularExpressionRegistry(Map<String, RegularExpression> expressions) {
+    this.expressions = Map.copyOf(expressions);
+  }
+
+  /**
+   * Creates a registry from the definitions in the given class path resource.
+   *
+   * @param resourceName the name of the resource, as understood by
+   *        {@link ClassLoader#getResource(String)}
+   * @return a new registry
+   * @throws UncheckedIOException if the resource cannot be read
+   * @throws IllegalArgumentException if the resource doesn't exist or any definition is invalid
+   */
+  public static RegularExpressionRegistry loadResource(@NonNull String resourceName) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    if (classLoader == null) {
+      classLoader = RegularExpressionRegistry.class.getClassLoader();
+    }
+    try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+      if (in == null) {
+        throw new IllegalArgumentException("Resource not found: " + resourceName);
+      }
+      return load(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Creates a registry from the UTF-8 encoded definitions read from an input stream. The stream
+   * is not closed.
+   *
+   * @param in the input stream
+   * @return a new registry
+   * @throws UncheckedIOException if the definitions cannot be read
+   * @throws IllegalArgumentException if any definition is invalid
+   */
+  public static RegularExpressionRegistry load(@NonNull InputStream in) {
+    return load(new InputStreamReader(in, UTF_8));
+  }
+
+  /**
+   * Creates a registry from the definitions read from a character stream. The stream is not
+   * closed.
+   *
+   * @param reader the character stream
+   * @return a new registry
+   * @throws UncheckedIOException if the definitions cannot be read
+   * @throws IllegalArgumentException if any definition is invalid
+   */
+  public static RegularExpressionRegistry load(@NonNull Reader reader) {
+    Properties properties = new Properties();
+    try {
+      properties.load(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return of(properties.stringPropertyNames().stream()
+        .collect(Collectors.toMap(name -> name, properties::getProperty)));
+  }
+
+  /**
+   * Creates a registry from the given definitions.
+   *
+   * @param definitions a map from names to definitions, in the format described above
+   * @return a new registry
+   * @throws IllegalArgumentException if any definition is invalid
+   */
+  public static RegularExpressionRegistry of(@NonNull Map<String, String> definitions) {
+    List<Definition> results = definitions.entrySet().parallelStream()
+        .map(e -> compile(e.getKey(), e.getValue())).collect(Collectors.toList());
+
+    List<IllegalArgumentException> errors = new ArrayList<>();
+    Map<String, RegularExpression> expressions = new HashMap<>();
+    for (Definition result : results) {
+      if (result.error() == null) {
+        expressions.put(result.name(), result.regex());
+      } else {
+        errors.add(result.error());
+      }
+    }
+
+    if (!errors.isEmpty()) {
+      IllegalArgumentException e = new IllegalArgumentException(errors.stream()
+          .map(Exception::getMessage).sorted().collect(Collectors.joining("\n",
+              "Invalid regular expression definitions:\n", "")));
+      errors.forEach(e::addSuppressed);
+      throw e;
+    }
+
+    return new RegularExpressionRegistry(expressions);
+  }
+
+  private record Definition(String name, RegularExpression regex,
+      IllegalArgumentException error) {
+
+    Definition(String name, RegularExpression regex) {
+      this(name, regex, null);
+    }
+
+    Definition(String name, IllegalArgumentException error) {
+      this(name, null, error);
+    }
+  }
+
+  private static Definition compile(String name, String definition) {
+    int space = definition.indexOf(' ');
+    if (space < 0) {
+      return new Definition(name,
+          new IllegalArgumentException(name + ": expected an operator followed by a space"));
+    }
+    String operatorName = definition.substring(0, space);
+    String input = definition.substring(space + 1);
+
+    RegularExpressionOperator operator;
+    try {
+      operator = RegularExpressionOperator.valueOf(operatorName);
+    } catch (IllegalArgumentException e) {
+      return new Definition(name,
+          new IllegalArgumentException(name + ": unknown operator " + operatorName, e));
+    }
+
+    try {
+      return new Definition(name, new RegularExpression(operator, input));
+    } catch (PatternSyntaxException e) {
+      return new Definition(name, new IllegalArgumentException(
+          name + ": " + e.getDescription() + " near index " + e.getIndex(), e));
+    }
+  }
+
+  /**
+   * Returns the regular expression registered with the given name.
+   *
+   * @param name the name of the regular expression
+   * @return the regular expression, or an empty {@code Optional} if there is no such expression
+   */
+  public Optional<RegularExpression> get(@NonNull String name) {
+    return Optional.ofNullable(expressions.get(name));
+  }
+
+  /**
+   * Returns the names of the registered regular expressions.
+   *
+   * @return an unmodifiable set of names
+   */
+  public Set<String> getNames() {
+    return expressions.keySet();
+  }
+
+  /** Returns the number of registered regular expressions. */
+  public int size() {
+    return expressions.size();
+  }
+
+  /**
+   * Runs a synthetic match workload over all the registered expressions, in order to load the
+   * classes of the regular expression engine and let the JIT compile the hot match paths.
+   *
+   * <p>
+   * Each expression is matched {@code iterations} times against a few strings derived from its
+   * input, such as the input itself, and the input surrounded by other characters.
+   * </p>
+   *
+   * @param iterations the number of times each expression is matched against each string
+   * @return the number of successful matches, which callers may ignore
+   */
+  public long warmUp(int iterations) {
+    return warmUp(List.of(), iterations);
+  }
+
+  /**
+   * Runs a synthetic match workload over all the registered expressions, using the given samples
+   * in addition to the strings derived from the input of each expression.
+   *
+   * @param samples sample strings, which should be representative of the actual data
+   * @param iterations the number of times each expression is matched against each string
+   * @return the number of successful matches, which callers may ignore
+   * @see #warmUp(int)
+   */
+  public long warmUp(@NonNull Collection<String> samples, int iterations) {
+    return expressions.values().parallelStream().mapToLong(regex -> {
+      List<String> strings = new ArrayList<>(samples);
+      for (String literal : regex.getRequiredLiterals()) {
+        strings.add(literal);
+        strings.add("x" + literal);
+        strings.add(literal + "x");
+        strings.add("x" + literal + "x");
+      }
+      strings.add(regex.getInput());
+      strings.add("");
+
+      long count = 0;
+      Matcher matcher = regex.getPattern().matcher("");
+      for (int i = 0; i < iterations; i++) {
+        for (String s : strings) {
+          if (matcher.reset(s).matches()) {
+            count++;
+          }
+        }
+      }
+      return count;
+    }).sum();
+  }
+
+  @Override
+  public String toString() {
+    return "RegularExpressionRegistry" + expressions.keySet();
+  }
+
+}
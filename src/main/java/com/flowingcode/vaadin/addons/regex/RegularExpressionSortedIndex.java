@@ -0,0 +1,225 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import lombok.NonNull;
+
+/**
+ * An immutable collection of strings sorted for prefix and suffix lookups with
+ * {@link RegularExpression}.
+ *
+ * <p>
+ * The strings are kept in a sorted array, so that the {@code k} candidates for an expression with
+ * a {@link RegularExpression#getPrefix() prefix} (such as "starts with" or "equals") are found by
+ * binary search in {@code O(log n + k)}. Optionally, a second array sorted by the reversed strings
+ * answers expressions with a {@link RegularExpression#getSuffix() suffix} (such as "ends with") in
+ * the same way. Other expressions are verified against all the strings in the collection.
+ * </p>
+ *
+ * <p>
+ * Unlike {@link RegularExpressionIndex}, the results are not returned in the order the strings
+ * were provided, but in the order of the array used for the lookup.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ *
+ * @author Javier Godoy
+ * @see RegularExpressionIndex
+ */
+public final class RegularExpressionSortedIndex {
+
+  private final String[] strings;
+
+  /** The ids of the strings, sorted by the strings. */
+  private final int[] byPrefix;
+
+  /** The ids of the strings, sorted by the reversed strings, or {@code null}. */
+  private final int[] bySuffix;
+
+  /**
+   * Creates a new index over the given strings, supporting both prefix and suffix lookups.
+   *
+   * @param strings the strings to index
+   * @throws NullPointerException if {@code strings} or any of its elements is {@code null}.
+   */
+  public RegularExpressionSortedIndex(@NonNull Collection<String> strings) {
+    this(strings, true);
+  }
+
+  /**
+   * Creates a new index over the given strings.
+   *
+   * @param strings the strings to index
+   * @param indexSuffixes whether to build the additional index for suffix lookups
+   * @throws NullPointerException if {@code strings} or any of its elements is {@code null}.
+   */
+  public RegularExpressionSortedIndex(@NonNull Collection<String> strings,
+      boolean indexSuffixes) {
+    this.strings = strings.toArray(String[]::new);
+    for (String s : this.strings) {
+      if (s == null) {
+        throw new NullPointerException("strings cannot contain null elements");
+      }
+    }
+    byPrefix = sort(false);
+    bySuffix = indexSuffixes ? sort(true) : null;
+  }
+
+  private int[] sort(boolean reversed) {
+    int[] ids = new int[strings.length];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = i;
+    }
+    mergeSort(ids, ids.clone(), 0, ids.length, reversed);
+    return ids;
+  }
+
+  /**
+   * Sorts {@code ids[from, to)} by their strings, using {@code buffer} (which must contain the same
+   * elements in that range) as scratch space. Equal strings are kept in the order of their ids.
+   */
+  private void mergeSort(int[] ids, int[] buffer, int from, int to, boolean reversed) {
+    if (to - from < 2) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    // sort both halves of the buffer, then merge them into ids
+    mergeSort(buffer, ids, from, mid, reversed);
+    mergeSort(buffer, ids, mid, to, reversed);
+    int i = from;
+    int j = mid;
+    for (int k = from; k < to; k++) {
+      if (j >= to || i < mid && compare(strings[buffer[i]], strings[buffer[j]], reversed) <= 0) {
+        ids[k] = buffer[i++];
+      } else {
+        ids[k] = buffer[j++];
+      }
+    }
+  }
+
+  private static char charAt(String s, int i, boolean reversed) {
+    return reversed ? s.charAt(s.length() - 1 - i) : s.charAt(i);
+  }
+
+  private static int compare(String a, String b, boolean reversed) {
+    int n = Math.min(a.length(), b.length());
+    for (int i = 0; i < n; i++) {
+      char ca = charAt(a, i, reversed);
+      char cb = charAt(b, i, reversed);
+      if (ca != cb) {
+        return ca - cb;
+      }
+    }
+    return a.length() - b.length();
+  }
+
+  /**
+   * Compares the first {@code key.length()} characters of {@code s} with {@code key}. Since
+   * truncation preserves the order, this comparison is consistent with the sort order.
+   */
+  private static int comparePrefix(String s, String key, boolean reversed) {
+    int n = Math.min(s.length(), key.length());
+    for (int i = 0; i < n; i++) {
+      char cs = charAt(s, i, reversed);
+      char ck = charAt(key, i, reversed);
+      if (cs != ck) {
+        return cs - ck;
+      }
+    }
+    return s.length() < key.length() ? -1 : 0;
+  }
+
+  /**
+   * Returns the first position in {@code ids} whose string is sorted after the key, or, if
+   * {@code inclusive}, the first position whose string is not sorted before the key.
+   */
+  private int search(int[] ids, String key, boolean reversed, boolean inclusive) {
+    int low = 0;
+    int high = ids.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      int c = comparePrefix(strings[ids[mid]], key, reversed);
+      if (c < 0 || c == 0 && !inclusive) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Returns the number of strings in this index. */
+  public int size() {
+    return strings.length;
+  }
+
+  /**
+   * Returns whether this index supports suffix lookups.
+   *
+   * @return {@code true} if the index was created with suffix lookups, otherwise {@code false}
+   */
+  public boolean isIndexingSuffixes() {
+    return bySuffix != null;
+  }
+
+  /**
+   * Returns the strings in this index that match the given regular expression. The strings are
+   * returned in lexicographic order, except when they are looked up by
+   * {@link RegularExpression#getSuffix() suffix}, in which case they are returned in lexicographic
+   * order of their reversed strings.
+   *
+   * @param regex the regular expression to search for
+   * @return a list of the matching strings
+   */
+  public List<String> search(@NonNull RegularExpression regex) {
+    // the candidates are ids[from, to)
+    int[] ids = byPrefix;
+    int from = 0;
+    int to = ids.length;
+    Optional<String> prefix = regex.getPrefix();
+    Optional<String> suffix = regex.getSuffix();
+    if (prefix.isPresent()) {
+      from = search(ids, prefix.get(), false, true);
+      to = search(ids, prefix.get(), false, false);
+    } else if (suffix.isPresent() && bySuffix != null) {
+      ids = bySuffix;
+      from = search(ids, suffix.get(), true, true);
+      to = search(ids, suffix.get(), true, false);
+    }
+
+    List<String> result = new ArrayList<>();
+    Matcher matcher = regex.getPattern().matcher("");
+    for (int i = from; i < to; i++) {
+      String s = strings[ids[i]];
+      if (matcher.reset(s).matches()) {
+        result.add(s);
+      }
+    }
+    return result;
+  }
+
+}
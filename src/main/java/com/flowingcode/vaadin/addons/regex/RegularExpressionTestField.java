@@ -31,6 +31,8 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.binder.Binder;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -41,6 +43,10 @@ import java.util.stream.Stream;
  * This component allows users to add and remove words while providing immediate feedback on their
  * validity based on a predefined regular expression pattern. When a word matches the given pattern,
  * it is displayed with a green background; otherwise, it is marked with red.
+ * <p>
+ * Optionally, the field can display the cost of matching each word (see
+ * {@link #setProfilingEnabled(boolean)}), so that inputs that cause excessive backtracking can be
+ * spotted before the pattern is used on actual data.
  *
  * @author Javier Godoy
  */
@@ -48,10 +54,29 @@ import java.util.stream.Stream;
 @CssImport("./styles/fc-regex-test-strings.css")
 public final class RegularExpressionTestField extends Div {
 
+  /** Reads per character above which a match is considered moderately expensive. */
+  private static final double MEDIUM_COST = 4;
+
+  /** Reads per character above which a match is considered expensive. */
+  private static final double HIGH_COST = 32;
+
+  /** The number of reads after which profiling aborts a match. */
+  private static final long MAX_READS = 1_000_000;
+
   private Pattern pattern;
 
   private final Grid<String[]> grid;
 
+  private final Grid.Column<String[]> costColumn;
+
+  private boolean profilingEnabled;
+
+  /**
+   * The profiles of the test strings, which are computed once per refresh. They are not
+   * serialized, and are computed again after deserialization.
+   */
+  private transient Map<String, MatchProfile> profiles;
+
   public RegularExpressionTestField() {
     grid = new Grid<>();
     grid.setClassName("fc-regex-test-strings");
@@ -65,6 +90,30 @@ public final class RegularExpressionTestField extends Div {
     grid.addColumn(item -> item[0]).setEditorComponent(editField);
     binder.forField(editField).bind(item -> item[0], (item, value) -> item[0] = value);
 
+    costColumn = grid.addColumn(item -> {
+      MatchProfile profile = profile(item[0]);
+      if (profile == null) {
+        return null;
+      } else if (profile.isExceeded()) {
+        return String.format("over %d reads", profile.getReads());
+      } else {
+        return String.format("%d reads, %.1f \u00b5s", profile.getReads(),
+            profile.getNanos() / 1000.0);
+      }
+    }).setFlexGrow(0).setWidth("12em").setVisible(false);
+    costColumn.setPartNameGenerator(item -> {
+      MatchProfile profile = profile(item[0]);
+      if (profile == null) {
+        return null;
+      } else if (profile.isExceeded() || profile.getReadsPerChar() > HIGH_COST) {
+        return "cost-high";
+      } else if (profile.getReadsPerChar() > MEDIUM_COST) {
+        return "cost-medium";
+      } else {
+        return "cost-low";
+      }
+    });
+
     grid.addComponentColumn(item -> newButton(VaadinIcon.MINUS_CIRCLE, ev -> {
       grid.getListDataView().removeItem(item);
     })).setFooter(newButton(VaadinIcon.PLUS_CIRCLE, ev -> {
@@ -91,7 +140,11 @@ public final class RegularExpressionTestField extends Div {
     add(grid);
 
     grid.setPartNameGenerator(item -> {
-      if (pattern != null) {
+      MatchProfile profile = profile(item[0]);
+      if (profile != null) {
+        // the match was already done while profiling, unless it was aborted
+        return profile.isExceeded() ? null : profile.isMatched() ? "match-success" : "match-fail";
+      } else if (pattern != null) {
         return pattern.matcher(item[0]).matches() ? "match-success" : "match-fail";
       } else {
         return null;
@@ -100,6 +153,22 @@ public final class RegularExpressionTestField extends Div {
 
   }
 
+  private MatchProfile profile(String item) {
+    if (profilingEnabled && pattern != null) {
+      if (profiles == null) {
+        profiles = new HashMap<>();
+      }
+      return profiles.computeIfAbsent(item, s -> MatchProfile.profile(pattern, s, MAX_READS));
+    } else {
+      return null;
+    }
+  }
+
+  private void refreshAll() {
+    profiles = null;
+    grid.getDataProvider().refreshAll();
+  }
+
   private Button newButton(VaadinIcon icon,
       ComponentEventListener<ClickEvent<Button>> clickListener) {
     var button = new Button(icon.create(), clickListener);
@@ -125,7 +194,36 @@ public final class RegularExpressionTestField extends Div {
 
   public void setPattern(Pattern pattern) {
     this.pattern = pattern;
-    grid.getDataProvider().refreshAll();
+    refreshAll();
+  }
+
+  /**
+   * Enables or disables profiling of the test strings.
+   *
+   * <p>
+   * When enabled, an additional column displays the number of characters read by the regular
+   * expression engine and the time spent while matching each test string, and the column is shaded
+   * according to the number of reads per character. Matches are aborted after a million reads, so
+   * that inputs that cause catastrophic backtracking don't block the UI; such inputs are shaded as
+   * expensive, and their result is not displayed.
+   * </p>
+   *
+   * @param enabled {@code true} to enable profiling, {@code false} to disable it
+   * @see RegularExpression#profile(CharSequence)
+   */
+  public void setProfilingEnabled(boolean enabled) {
+    profilingEnabled = enabled;
+    costColumn.setVisible(enabled);
+    refreshAll();
+  }
+
+  /**
+   * Checks whether profiling of the test strings is enabled.
+   *
+   * @return {@code true} if profiling is enabled, otherwise {@code false}
+   */
+  public boolean isProfilingEnabled() {
+    return profilingEnabled;
   }
 
 }
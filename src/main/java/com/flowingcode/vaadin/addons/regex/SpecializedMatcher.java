@@ -0,0 +1,643 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import static com.flowingcode.vaadin.addons.regex.RegularExpression.isLineTerminator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A matcher that is specialized for a given {@link RegularExpression}, and does not use the
+ * regular expression engine.
+ *
+ * <p>
+ * The simple operators are matched with the search methods of {@code String}, scanning the rest
+ * of the input for line terminators (which are not matched by the {@code .*} wildcard).
+ * </p>
+ *
+ * <p>
+ * {@link RegularExpressionOperator#ADVANCED ADVANCED} expressions are supported if they consist of
+ * a sequence of literal characters, {@code .}, character classes (without nested classes or
+ * intersections) and predefined classes such as {@code \d}, each of them optionally followed by a
+ * greedy or reluctant quantifier ({@code ?}, {@code *}, {@code +}, or bounded repetitions), and
+ * optionally anchored with {@code ^}/{@code \A} and {@code $}/{@code \z}. Such an expression is
+ * compiled into a nondeterministic automaton of at most 63 states, which is simulated with a
+ * bitmask over primitive arrays, so that the match time is linear in the length of the input.
+ * Patterns compiled with flags, and any other construct, are not supported.
+ * </p>
+ *
+ * <p>
+ * As the regular expression engine, specialized matchers operate on code points, and their results
+ * are identical to those of {@link java.util.regex.Matcher#matches()}.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+abstract class SpecializedMatcher {
+
+  /** The maximum number of items of a sequence, so that the states fit in a {@code long}. */
+  private static final int MAX_ITEMS = 63;
+
+  /** The code points that are matched by {@code .}, i.e. all but line terminators. */
+  private static final int[] DOT = complement(normalize(IntStream.rangeClosed(0, '\u2029')
+      .filter(RegularExpression::isLineTerminator).mapToObj(c -> new int[] {c, c})
+      .collect(Collectors.toList())));
+
+  private static final int[] DIGIT = {'0', '9'};
+
+  private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+
+  private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+
+  SpecializedMatcher() {}
+
+  /**
+   * Returns whether the entire input matches the expression.
+   *
+   * @param input the character sequence to match
+   * @return {@code true} if the entire input matches the expression
+   */
+  abstract boolean matches(CharSequence input);
+
+  /**
+   * Returns a specialized matcher for the given regular expression, or {@code null} if the
+   * expression is not supported.
+   */
+  static SpecializedMatcher compile(RegularExpression regex) {
+    String input = regex.getInput();
+    if (regex.getOperator() == RegularExpressionOperator.ADVANCED) {
+      if (regex.getPattern().flags() != 0) {
+        return null;
+      }
+      return new Parser(input).parse();
+    }
+
+    if (!regex.hasWellFormedInput()) {
+      return null;
+    }
+
+    return switch (regex.getOperator()) {
+      case EQUALS -> new EqualsMatcher(input);
+      case STARTS_WITH -> new StartsWithMatcher(input);
+      case ENDS_WITH -> new EndsWithMatcher(input);
+      case CONTAINS -> new ContainsMatcher(input);
+      case ADVANCED -> throw new IllegalStateException();
+    };
+  }
+
+  /** Returns the index of the first line terminator in the given range, or -1. */
+  private static int findLineTerminator(String s, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (isLineTerminator(s.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static final class EqualsMatcher extends SpecializedMatcher {
+
+    private final String literal;
+
+    EqualsMatcher(String literal) {
+      this.literal = literal;
+    }
+
+    @Override
+    boolean matches(CharSequence input) {
+      return literal.contentEquals(input);
+    }
+  }
+
+  private static final class StartsWithMatcher extends SpecializedMatcher {
+
+    private final String literal;
+
+    StartsWithMatcher(String literal) {
+      this.literal = literal;
+    }
+
+    @Override
+    boolean matches(CharSequence input) {
+      String s = input.toString();
+      return s.startsWith(literal) && findLineTerminator(s, literal.length(), s.length()) < 0;
+    }
+  }
+
+  private static final class EndsWithMatcher extends SpecializedMatcher {
+
+    private final String literal;
+
+    EndsWithMatcher(String literal) {
+      this.literal = literal;
+    }
+
+    @Override
+    boolean matches(CharSequence input) {
+      String s = input.toString();
+      return s.endsWith(literal)
+          && findLineTerminator(s, 0, s.length() - literal.length()) < 0;
+    }
+  }
+
+  private static final class ContainsMatcher extends SpecializedMatcher {
+
+    private final String literal;
+
+    ContainsMatcher(String literal) {
+      this.literal = literal;
+    }
+
+    @Override
+    boolean matches(CharSequence input) {
+      String s = input.toString();
+      int first = findLineTerminator(s, 0, s.length());
+      if (first < 0) {
+        return s.contains(literal);
+      }
+
+      int lastEnd = first + 1;
+      for (int i = s.length() - 1; i > first; i--) {
+        if (isLineTerminator(s.charAt(i))) {
+          lastEnd = i + 1;
+          break;
+        }
+      }
+      // an occurrence that covers all the line terminators ends after the last one
+      int n = literal.length();
+      for (int i = s.indexOf(literal, Math.max(0, lastEnd - n)); i >= 0 && i <= first;
+          i = s.indexOf(literal, i + 1)) {
+        if (RegularExpression.coversLineTerminators(i, i + n, first, lastEnd)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Matches a sequence of items, where each item matches a single code point, and may be
+   * optional or repeated.
+   *
+   * <p>
+   * State {@code i} means that the first {@code i} items have been matched. The set of active
+   * states is a bitmask, which is advanced for all the states at once with bitwise operations.
+   * </p>
+   */
+  private static final class SequenceMatcher extends SpecializedMatcher {
+
+    /** The code point ranges matched by each item, as pairs of inclusive bounds. */
+    private final int[][] ranges;
+
+    /** For each ASCII character, the items that match it. */
+    private final long[] ascii = new long[128];
+
+    /** The items that are repeated, i.e. remain in the same state after matching. */
+    private final long repeated;
+
+    /** The items that may be skipped, i.e. optional or repeated. */
+    private final long skippable;
+
+    /** The state reached after all the items have been matched. */
+    private final long accept;
+
+    private final long initial;
+
+    SequenceMatcher(List<Item> items) {
+      int n = items.size();
+      ranges = new int[n][];
+      long repeated = 0;
+      long skippable = 0;
+      for (int i = 0; i < n; i++) {
+        Item item = items.get(i);
+        ranges[i] = item.ranges();
+        for (char c = 0; c < ascii.length; c++) {
+          if (contains(ranges[i], c)) {
+            ascii[c] |= 1L << i;
+          }
+        }
+        if (item.repeated()) {
+          repeated |= 1L << i;
+        }
+        if (item.optional() || item.repeated()) {
+          skippable |= 1L << i;
+        }
+      }
+      this.repeated = repeated;
+      this.skippable = skippable;
+      accept = 1L << n;
+      initial = closure(1L);
+    }
+
+    /** Adds the states that are reachable by skipping items. */
+    private long closure(long states) {
+      long previous;
+      do {
+        // skipping an item enables the next one, which may be skippable as well
+        previous = states;
+        states |= (states & skippable) << 1;
+      } while (states != previous);
+      return states;
+    }
+
+    @Override
+    boolean matches(CharSequence input) {
+      long states = initial;
+      for (int i = 0, length = input.length(); i < length;) {
+        char ch = input.charAt(i++);
+        long matched;
+        if (ch < 128) {
+          matched = states & ascii[ch];
+        } else {
+          int c = ch;
+          if (Character.isHighSurrogate(ch) && i < length
+              && Character.isLowSurrogate(input.charAt(i))) {
+            c = Character.toCodePoint(ch, input.charAt(i++));
+          }
+          matched = 0;
+          for (long s = states & ~accept; s != 0; s &= s - 1) {
+            int item = Long.numberOfTrailingZeros(s);
+            if (contains(ranges[item], c)) {
+              matched |= 1L << item;
+            }
+          }
+        }
+        if (matched == 0) {
+          return false;
+        }
+        // repeated items remain in the same state, other items advance to the next one
+        states = closure((matched & repeated) | (matched & ~repeated) << 1);
+      }
+      return (states & accept) != 0;
+    }
+
+    private static boolean contains(int[] ranges, int c) {
+      for (int i = 0; i < ranges.length; i += 2) {
+        if (c < ranges[i]) {
+          return false;
+        } else if (c <= ranges[i + 1]) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /** An item of a sequence, which matches a single code point. */
+  private record Item(int[] ranges, boolean optional, boolean repeated) {}
+
+  /** Parses the supported subset of the regular expression syntax into a sequence of items. */
+  private static final class Parser {
+
+    private final String regex;
+
+    private int pos;
+
+    private final List<Item> items = new ArrayList<>();
+
+    Parser(String regex) {
+      this.regex = regex;
+    }
+
+    SequenceMatcher parse() {
+      // with Matcher.matches(), the anchors are only meaningful at the ends of the pattern
+      if (regex.startsWith("^")) {
+        pos = 1;
+      } else if (regex.startsWith("\\A")) {
+        pos = 2;
+      }
+
+      int end = regex.length();
+      if (regex.endsWith("\\z") && !isEscaped(end - 2)) {
+        end -= 2;
+      } else if (regex.endsWith("$") && !isEscaped(end - 1)) {
+        end -= 1;
+      }
+
+      while (pos < end) {
+        int[] atom = parseAtom(end);
+        if (atom == null || !parseQuantifier(atom, end)) {
+          return null;
+        }
+      }
+      return pos == end && items.size() <= MAX_ITEMS ? new SequenceMatcher(items) : null;
+    }
+
+    /** Returns whether the character at the given index is preceded by an odd number of '\'. */
+    private boolean isEscaped(int index) {
+      int n = 0;
+      while (index - n - 1 >= 0 && regex.charAt(index - n - 1) == '\\') {
+        n++;
+      }
+      return n % 2 != 0;
+    }
+
+    /** Parses an atom and returns the code point ranges it matches, or {@code null}. */
+    private int[] parseAtom(int end) {
+      char c = regex.charAt(pos);
+      if (c == '.') {
+        pos++;
+        return DOT;
+      } else if (c == '[') {
+        pos++;
+        return parseClass(end);
+      } else if (c == '\\') {
+        if (regex.startsWith("\\Q", pos)) {
+          return parseQuote(end);
+        }
+        pos++;
+        return parseEscape(end);
+      } else if (".?+*[](){}|^$".indexOf(c) >= 0 || Character.isSurrogate(c)) {
+        return null;
+      } else {
+        pos++;
+        return new int[] {c, c};
+      }
+    }
+
+    /**
+     * Parses {@code \Q...\E}, adding all the quoted characters but the last one as items, and
+     * returns the last one (to which a quantifier may apply).
+     */
+    private int[] parseQuote(int end) {
+      int close = regex.indexOf("\\E", pos + 2);
+      if (close < 0 || close + 2 > end) {
+        return null;
+      }
+      String quoted = regex.substring(pos + 2, close);
+      pos = close + 2;
+      if (quoted.isEmpty()) {
+        return null;
+      }
+      for (int i = 0; i < quoted.length(); i++) {
+        if (Character.isSurrogate(quoted.charAt(i))) {
+          return null;
+        }
+      }
+      for (int i = 0; i < quoted.length() - 1; i++) {
+        char c = quoted.charAt(i);
+        items.add(new Item(new int[] {c, c}, false, false));
+      }
+      char last = quoted.charAt(quoted.length() - 1);
+      return new int[] {last, last};
+    }
+
+    /** Parses an escape sequence, after the backslash. */
+    private int[] parseEscape(int end) {
+      if (pos >= end) {
+        return null;
+      }
+      char c = regex.charAt(pos++);
+      switch (c) {
+        case 'd':
+          return DIGIT;
+        case 'D':
+          return complement(DIGIT);
+        case 'w':
+          return WORD;
+        case 'W':
+          return complement(WORD);
+        case 's':
+          return SPACE;
+        case 'S':
+          return complement(SPACE);
+        default:
+          int literal = parseEscapedLiteral(c, end);
+          return literal < 0 ? null : new int[] {literal, literal};
+      }
+    }
+
+    /**
+     * Parses an escaped literal character, given the character after the backslash, and returns
+     * it, or -1 if the escape is not supported.
+     */
+    private int parseEscapedLiteral(char c, int end) {
+      int literal;
+      switch (c) {
+        case 't':
+          return '\t';
+        case 'n':
+          return '\n';
+        case 'r':
+          return '\r';
+        case 'f':
+          return '\f';
+        case 'a':
+          return '\u0007';
+        case 'e':
+          return '\u001B';
+        case 'x':
+          literal = parseHex(2, end);
+          break;
+        case 'u':
+          literal = parseHex(4, end);
+          break;
+        default:
+          // other letters and digits have special meanings
+          literal = c < 128 && !Character.isLetterOrDigit(c) ? c : -1;
+      }
+      return literal >= 0 && !Character.isSurrogate((char) literal) ? literal : -1;
+    }
+
+    private int parseHex(int digits, int end) {
+      if (pos + digits > end) {
+        return -1;
+      }
+      int value = 0;
+      for (int i = 0; i < digits; i++) {
+        int digit = Character.digit(regex.charAt(pos++), 16);
+        if (digit < 0) {
+          return -1;
+        }
+        value = value * 16 + digit;
+      }
+      return value;
+    }
+
+    /** Parses a character class, after the opening bracket. */
+    private int[] parseClass(int end) {
+      boolean negated = pos < end && regex.charAt(pos) == '^';
+      if (negated) {
+        pos++;
+      }
+
+      List<int[]> union = new ArrayList<>();
+      boolean first = true;
+      while (pos < end && (first || regex.charAt(pos) != ']')) {
+        first = false;
+        char c = regex.charAt(pos);
+        if (c == '[' || c == ']' || regex.startsWith("&&", pos) || Character.isSurrogate(c)) {
+          // nested classes and intersections are not supported
+          return null;
+        }
+
+        int low;
+        pos++;
+        if (c == '\\') {
+          if (pos >= end) {
+            return null;
+          }
+          char e = regex.charAt(pos);
+          if ("dDwWsS".indexOf(e) >= 0) {
+            union.add(parseEscape(end));
+            continue;
+          }
+          pos++;
+          low = parseEscapedLiteral(e, end);
+        } else {
+          low = c;
+        }
+        if (low < 0) {
+          return null;
+        }
+
+        int high = low;
+        if (pos + 1 < end && regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+          char h = regex.charAt(pos + 1);
+          pos += 2;
+          if (h == '\\') {
+            if (pos >= end) {
+              return null;
+            }
+            high = parseEscapedLiteral(regex.charAt(pos++), end);
+          } else if (h == '[' || h == '&' || Character.isSurrogate(h)) {
+            return null;
+          } else {
+            high = h;
+          }
+          if (high < low) {
+            return null;
+          }
+        }
+        union.add(new int[] {low, high});
+      }
+
+      if (pos >= end || first) {
+        return null;
+      }
+      pos++;
+      int[] ranges = normalize(union);
+      return negated ? complement(ranges) : ranges;
+    }
+
+    /** Parses an optional quantifier, and adds the items for the given atom. */
+    private boolean parseQuantifier(int[] atom, int end) {
+      int min = 1;
+      int max = 1;
+      if (pos < end) {
+        char c = regex.charAt(pos);
+        if (c == '?' || c == '*' || c == '+') {
+          pos++;
+          min = c == '+' ? 1 : 0;
+          max = c == '?' ? 1 : -1;
+        } else if (c == '{') {
+          int close = regex.indexOf('}', pos);
+          if (close < 0 || close >= end) {
+            return false;
+          }
+          String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+          try {
+            min = Integer.parseInt(bounds[0]);
+            max = bounds.length == 1 ? min
+                : bounds[1].isEmpty() ? -1 : Integer.parseInt(bounds[1]);
+          } catch (NumberFormatException e) {
+            return false;
+          }
+          if (bounds.length > 2 || min > MAX_ITEMS || max > MAX_ITEMS) {
+            return false;
+          }
+          pos = close + 1;
+        } else {
+          items.add(new Item(atom, false, false));
+          return true;
+        }
+
+        if (pos < end && regex.charAt(pos) == '?') {
+          // a reluctant quantifier matches the same strings with Matcher.matches()
+          pos++;
+        } else if (pos < end && regex.charAt(pos) == '+') {
+          // possessive quantifiers don't backtrack
+          return false;
+        }
+        if (pos < end && "?*+{".indexOf(regex.charAt(pos)) >= 0) {
+          return false;
+        }
+      }
+
+      for (int i = 0; i < min; i++) {
+        items.add(new Item(atom, false, false));
+      }
+      if (max < 0) {
+        items.add(new Item(atom, false, true));
+      } else {
+        for (int i = min; i < max; i++) {
+          items.add(new Item(atom, true, false));
+        }
+      }
+      return items.size() <= MAX_ITEMS;
+    }
+  }
+
+  /** Sorts and merges a list of code point ranges. */
+  private static int[] normalize(List<int[]> union) {
+    int[][] pairs = union.stream().flatMap(ranges -> {
+      List<int[]> list = new ArrayList<>();
+      for (int i = 0; i < ranges.length; i += 2) {
+        list.add(new int[] {ranges[i], ranges[i + 1]});
+      }
+      return list.stream();
+    }).sorted((a, b) -> Integer.compare(a[0], b[0])).toArray(int[][]::new);
+
+    int[] result = new int[pairs.length * 2];
+    int n = 0;
+    for (int[] pair : pairs) {
+      if (n > 0 && pair[0] <= result[n - 1] + 1) {
+        result[n - 1] = Math.max(result[n - 1], pair[1]);
+      } else {
+        result[n++] = pair[0];
+        result[n++] = pair[1];
+      }
+    }
+    return Arrays.copyOf(result, n);
+  }
+
+  /** Returns the code point ranges that are not in the given sorted ranges. */
+  private static int[] complement(int[] ranges) {
+    int[] result = new int[ranges.length + 2];
+    int n = 0;
+    int next = 0;
+    for (int i = 0; i < ranges.length; i += 2) {
+      if (ranges[i] > next) {
+        result[n++] = next;
+        result[n++] = ranges[i] - 1;
+      }
+      next = ranges[i + 1] + 1;
+    }
+    if (next <= Character.MAX_CODE_POINT) {
+      result[n++] = next;
+      result[n++] = Character.MAX_CODE_POINT;
+    }
+    return Arrays.copyOf(result, n);
+  }
+
+}
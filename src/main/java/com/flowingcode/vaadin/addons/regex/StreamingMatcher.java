@@ -0,0 +1,392 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import static com.flowingcode.vaadin.addons.regex.RegularExpression.isLineTerminator;
+import java.util.regex.Matcher;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Matches a {@link RegularExpression} against a string that is received in chunks.
+ *
+ * <p>
+ * Chunks are fed with {@link #append(CharSequence)}, and {@link #matches()} reports whether the
+ * input appended so far matches the expression. Chunk boundaries may fall anywhere, including
+ * between the characters of a surrogate pair.
+ * </p>
+ *
+ * <p>
+ * The simple operators keep only the state they need, regardless of the size of the input:
+ * "equals" and "starts with" compare the incoming characters against the literal, "ends with"
+ * keeps the last characters in a ring buffer, and "contains" runs the Knuth-Morris-Pratt algorithm.
+ * Since the wildcard of those operators doesn't match line terminators, the position of line
+ * terminators is tracked as well.
+ * </p>
+ *
+ * <p>
+ * {@link RegularExpressionOperator#ADVANCED ADVANCED} expressions (and literals that contain
+ * unpaired surrogates) buffer the input. The buffer is discarded as soon as the regular expression
+ * engine reports that no further input can produce a match (see {@link Matcher#hitEnd()}), but in
+ * general its size is not bounded.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread-safe.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+public final class StreamingMatcher {
+
+  /** The expression being matched. */
+  @Getter
+  private final RegularExpression regularExpression;
+
+  private State state;
+
+  /**
+   * Creates a new {@code StreamingMatcher} for the given regular expression.
+   *
+   * @param regex the regular expression to match
+   */
+  public StreamingMatcher(@NonNull RegularExpression regex) {
+    regularExpression = regex;
+    state = newState();
+  }
+
+  private State newState() {
+    String input = regularExpression.getInput();
+    if (regularExpression.getOperator() == RegularExpressionOperator.ADVANCED
+        || !regularExpression.hasWellFormedInput()) {
+      return new AdvancedState(regularExpression.getPattern().matcher(""));
+    }
+    return switch (regularExpression.getOperator()) {
+      case EQUALS -> new EqualsState(input);
+      case STARTS_WITH -> new StartsWithState(input);
+      case ENDS_WITH -> new EndsWithState(input);
+      case CONTAINS -> new ContainsState(input);
+      case ADVANCED -> throw new IllegalStateException();
+    };
+  }
+
+  /**
+   * Appends a chunk of input.
+   *
+   * @param chunk the chunk to append
+   * @return this matcher
+   */
+  public StreamingMatcher append(@NonNull CharSequence chunk) {
+    if (!state.isRejected()) {
+      for (int i = 0, n = chunk.length(); i < n; i++) {
+        state.append(chunk.charAt(i));
+      }
+      state.afterChunk();
+    }
+    return this;
+  }
+
+  /**
+   * Returns whether the input appended so far matches the regular expression.
+   *
+   * @return {@code true} if the input appended so far matches the regular expression
+   */
+  public boolean matches() {
+    return state.matches();
+  }
+
+  /**
+   * Returns whether the input appended so far cannot match the regular expression, regardless of
+   * any further input. Once this method returns {@code true}, further input is ignored.
+   *
+   * @return {@code true} if no further input can produce a match
+   */
+  public boolean isRejected() {
+    return state.isRejected();
+  }
+
+  /** Discards the input appended so far. */
+  public void reset() {
+    state = newState();
+  }
+
+  @Override
+  public String toString() {
+    return "StreamingMatcher[" + regularExpression + "]";
+  }
+
+  private interface State {
+
+    void append(char c);
+
+    default void afterChunk() {}
+
+    boolean matches();
+
+    boolean isRejected();
+  }
+
+  private static final class EqualsState implements State {
+
+    private final String literal;
+
+    private long length;
+
+    private boolean rejected;
+
+    EqualsState(String literal) {
+      this.literal = literal;
+    }
+
+    @Override
+    public void append(char c) {
+      if (length >= literal.length() || literal.charAt((int) length) != c) {
+        rejected = true;
+      }
+      length++;
+    }
+
+    @Override
+    public boolean matches() {
+      return !rejected && length == literal.length();
+    }
+
+    @Override
+    public boolean isRejected() {
+      return rejected;
+    }
+  }
+
+  private static final class StartsWithState implements State {
+
+    private final String literal;
+
+    private long length;
+
+    private boolean rejected;
+
+    StartsWithState(String literal) {
+      this.literal = literal;
+    }
+
+    @Override
+    public void append(char c) {
+      if (length < literal.length() ? literal.charAt((int) length) != c : isLineTerminator(c)) {
+        rejected = true;
+      }
+      length++;
+    }
+
+    @Override
+    public boolean matches() {
+      return !rejected && length >= literal.length();
+    }
+
+    @Override
+    public boolean isRejected() {
+      return rejected;
+    }
+  }
+
+  private static final class EndsWithState implements State {
+
+    private final String literal;
+
+    /** The last {@code literal.length()} characters. */
+    private final char[] ring;
+
+    private long length;
+
+    /** The position of the first line terminator, or -1. */
+    private long firstLineTerminator = -1;
+
+    EndsWithState(String literal) {
+      this.literal = literal;
+      ring = new char[literal.length()];
+    }
+
+    @Override
+    public void append(char c) {
+      if (ring.length > 0) {
+        ring[(int) (length % ring.length)] = c;
+      }
+      if (firstLineTerminator < 0 && isLineTerminator(c)) {
+        firstLineTerminator = length;
+      }
+      length++;
+    }
+
+    @Override
+    public boolean matches() {
+      int n = ring.length;
+      if (length < n || isRejected()) {
+        return false;
+      }
+      int start = n > 0 ? (int) (length % n) : 0;
+      for (int i = 0; i < n; i++) {
+        if (ring[(start + i) % n] != literal.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public boolean isRejected() {
+      // line terminators are only allowed in the suffix
+      return firstLineTerminator >= 0 && firstLineTerminator < length - ring.length;
+    }
+  }
+
+  private static final class ContainsState implements State {
+
+    private final String literal;
+
+    /** The Knuth-Morris-Pratt failure function of the literal. */
+    private final int[] failure;
+
+    /** The length of the longest prefix of the literal that is a suffix of the input. */
+    private int k;
+
+    private long length;
+
+    /** The position of the first line terminator, or -1. */
+    private long firstLineTerminator = -1;
+
+    /** The position after the last line terminator. */
+    private long lastLineTerminatorEnd;
+
+    /** Whether the literal was found before any line terminator. */
+    private boolean found;
+
+    /** The end of the last occurrence that starts before the first line terminator, or -1. */
+    private long lastOccurrenceEnd = -1;
+
+    ContainsState(String literal) {
+      this.literal = literal;
+      failure = new int[literal.length()];
+      for (int i = 1, j = 0; i < literal.length(); i++) {
+        while (j > 0 && literal.charAt(i) != literal.charAt(j)) {
+          j = failure[j - 1];
+        }
+        if (literal.charAt(i) == literal.charAt(j)) {
+          j++;
+        }
+        failure[i] = j;
+      }
+      found = literal.isEmpty();
+    }
+
+    @Override
+    public void append(char c) {
+      if (isLineTerminator(c)) {
+        if (firstLineTerminator < 0) {
+          firstLineTerminator = length;
+        }
+        lastLineTerminatorEnd = length + 1;
+      }
+      length++;
+
+      int n = literal.length();
+      if (n == 0) {
+        return;
+      }
+      while (k > 0 && literal.charAt(k) != c) {
+        k = failure[k - 1];
+      }
+      if (literal.charAt(k) == c) {
+        k++;
+      }
+      if (k == n) {
+        if (firstLineTerminator < 0) {
+          found = true;
+        } else if (length - n <= firstLineTerminator) {
+          lastOccurrenceEnd = length;
+        }
+        k = failure[k - 1];
+      }
+    }
+
+    @Override
+    public boolean matches() {
+      if (firstLineTerminator < 0) {
+        return found;
+      } else {
+        return lastOccurrenceEnd >= 0 && RegularExpression.coversLineTerminators(
+            lastOccurrenceEnd - literal.length(), lastOccurrenceEnd, firstLineTerminator,
+            lastLineTerminatorEnd);
+      }
+    }
+
+    @Override
+    public boolean isRejected() {
+      // an occurrence that starts before the first line terminator is no longer possible
+      return firstLineTerminator >= 0 && length - literal.length() >= firstLineTerminator
+          && !matches();
+    }
+  }
+
+  private static final class AdvancedState implements State {
+
+    private static final int MIN_PROBE_LENGTH = 64;
+
+    private final Matcher matcher;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int probeLength = MIN_PROBE_LENGTH;
+
+    private boolean rejected;
+
+    AdvancedState(Matcher matcher) {
+      this.matcher = matcher;
+    }
+
+    @Override
+    public void append(char c) {
+      buffer.append(c);
+    }
+
+    @Override
+    public void afterChunk() {
+      // probing is linear in the buffer size, so it is done whenever the buffer doubles
+      if (buffer.length() >= probeLength) {
+        if (!matcher.reset(buffer).matches() && !matcher.hitEnd()) {
+          // the match failed without reading the end of the input
+          rejected = true;
+          buffer.setLength(0);
+          buffer.trimToSize();
+        }
+        probeLength = buffer.length() * 2;
+      }
+    }
+
+    @Override
+    public boolean matches() {
+      return !rejected && matcher.reset(buffer).matches();
+    }
+
+    @Override
+    public boolean isRejected() {
+      return rejected;
+    }
+  }
+
+}
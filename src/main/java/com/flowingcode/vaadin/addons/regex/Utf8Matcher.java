@@ -0,0 +1,270 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.ByteBuffer;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Matches a {@link RegularExpression} against UTF-8 encoded bytes, without decoding them into a
+ * {@code String}.
+ *
+ * <p>
+ * For the simple operators, the UTF-8 encoding of the input is searched directly in the bytes.
+ * Since the wildcard of those operators doesn't match line terminators, the bytes outside the
+ * literal are scanned for the UTF-8 encoding of line terminators. For
+ * {@link RegularExpressionOperator#ADVANCED ADVANCED} expressions, ASCII content is exposed to the
+ * regular expression engine through a {@code CharSequence} view over the bytes. Other content is
+ * decoded, since the engine performs better on a {@code String} than on a view that decodes the
+ * bytes on demand.
+ * </p>
+ *
+ * <p>
+ * The bytes are expected to be well-formed UTF-8. Malformed input is matched as if decoded with
+ * replacement for the advanced operator, but byte-wise for the simple operators.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are immutable and thread-safe. Matching methods neither modify the
+ * position nor the limit of the given buffers.
+ * </p>
+ *
+ * @author Javier Godoy
+ */
+public final class Utf8Matcher {
+
+  /** The expression being matched. */
+  @Getter
+  private final RegularExpression regularExpression;
+
+  /** The UTF-8 encoding of the input, or {@code null} if the bytes must be decoded. */
+  private final byte[] literal;
+
+  /**
+   * Creates a new {@code Utf8Matcher} for the given regular expression.
+   *
+   * @param regex the regular expression to match
+   */
+  public Utf8Matcher(@NonNull RegularExpression regex) {
+    regularExpression = regex;
+    if (regex.getOperator() != RegularExpressionOperator.ADVANCED && regex.hasWellFormedInput()) {
+      literal = regex.getInput().getBytes(UTF_8);
+    } else {
+      literal = null;
+    }
+  }
+
+  /**
+   * Returns whether the UTF-8 encoded bytes match the regular expression.
+   *
+   * @param bytes the UTF-8 encoded string
+   * @return {@code true} if the entire string matches the regular expression
+   */
+  public boolean matches(@NonNull byte[] bytes) {
+    return matches(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Returns whether the UTF-8 encoded bytes match the regular expression.
+   *
+   * @param bytes an array containing the UTF-8 encoded string
+   * @param offset the offset of the string in the array
+   * @param length the length of the string, in bytes
+   * @return {@code true} if the entire string matches the regular expression
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} are out of bounds
+   */
+  public boolean matches(@NonNull byte[] bytes, int offset, int length) {
+    return matches(ByteBuffer.wrap(bytes, offset, length));
+  }
+
+  /**
+   * Returns whether the remaining bytes of a buffer match the regular expression. The buffer may be
+   * a heap or a direct buffer.
+   *
+   * @param buffer a buffer whose remaining bytes contain the UTF-8 encoded string
+   * @return {@code true} if the entire string matches the regular expression
+   */
+  public boolean matches(@NonNull ByteBuffer buffer) {
+    int from = buffer.position();
+    int to = buffer.limit();
+    if (literal == null) {
+      return regularExpression.getPattern().matcher(asCharSequence(buffer)).matches();
+    }
+
+    int n = literal.length;
+    return switch (regularExpression.getOperator()) {
+      case EQUALS -> to - from == n && regionMatches(buffer, from);
+      case STARTS_WITH -> to - from >= n && regionMatches(buffer, from)
+          && findLineTerminator(buffer, from + n, to) < 0;
+      case ENDS_WITH -> to - from >= n && regionMatches(buffer, to - n)
+          && findLineTerminator(buffer, from, to - n) < 0;
+      case CONTAINS -> contains(buffer, from, to);
+      case ADVANCED -> throw new IllegalStateException();
+    };
+  }
+
+  /**
+   * Returns a {@code CharSequence} with the decoded content of the remaining bytes of a buffer. If
+   * the content is ASCII, the returned sequence is a view over the buffer, and it reflects any
+   * subsequent change in the buffer contents.
+   */
+  static CharSequence asCharSequence(ByteBuffer buffer) {
+    for (int i = buffer.position(), to = buffer.limit(); i < to; i++) {
+      if (buffer.get(i) < 0) {
+        // the regular expression engine performs best on strings
+        if (buffer.hasArray()) {
+          return new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+              buffer.remaining(), UTF_8);
+        } else {
+          return UTF_8.decode(buffer.duplicate()).toString();
+        }
+      }
+    }
+    return new AsciiCharSequence(buffer, buffer.position(), buffer.limit());
+  }
+
+  private boolean regionMatches(ByteBuffer buffer, int offset) {
+    for (int i = 0; i < literal.length; i++) {
+      if (buffer.get(offset + i) != literal[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean contains(ByteBuffer buffer, int from, int to) {
+    int n = literal.length;
+    int first = findLineTerminator(buffer, from, to);
+    int lastEnd = first < 0 ? -1 : lastLineTerminatorEnd(buffer, first, to);
+    // an occurrence that covers all the line terminators ends after the last one
+    for (int i = Math.max(from, lastEnd - n); i <= to - n; i++) {
+      if (regionMatches(buffer, i)
+          && RegularExpression.coversLineTerminators(i, i + n, first, lastEnd)) {
+        return true;
+      } else if (first >= 0 && i >= first) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the length of the UTF-8 encoded line terminator at the given index, or 0. */
+  private static int lineTerminatorLength(ByteBuffer buffer, int i, int to) {
+    // line terminators are encoded in 1 to 3 bytes, malformed sequences are not decoded
+    byte b = buffer.get(i);
+    int c;
+    int length;
+    if (b >= 0) {
+      c = b;
+      length = 1;
+    } else if ((b & 0xE0) == 0xC0 && isContinuation(buffer, i + 1, to)) {
+      c = (b & 0x1F) << 6 | buffer.get(i + 1) & 0x3F;
+      length = 2;
+    } else if ((b & 0xF0) == 0xE0 && isContinuation(buffer, i + 1, to)
+        && isContinuation(buffer, i + 2, to)) {
+      c = (b & 0x0F) << 12 | (buffer.get(i + 1) & 0x3F) << 6 | buffer.get(i + 2) & 0x3F;
+      length = 3;
+    } else {
+      return 0;
+    }
+    // overlong encodings are malformed
+    boolean shortest = length == 1 || c >= (length == 2 ? 0x80 : 0x800);
+    return shortest && RegularExpression.isLineTerminator(c) ? length : 0;
+  }
+
+  private static boolean isContinuation(ByteBuffer buffer, int i, int to) {
+    return i < to && (buffer.get(i) & 0xC0) == 0x80;
+  }
+
+  /** Returns the index of the first line terminator in the given range, or -1. */
+  private static int findLineTerminator(ByteBuffer buffer, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (lineTerminatorLength(buffer, i, to) > 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns the end index of the last line terminator in the given range, or -1. */
+  private static int lastLineTerminatorEnd(ByteBuffer buffer, int from, int to) {
+    int end = -1;
+    for (int i = from; i < to; i++) {
+      int n = lineTerminatorLength(buffer, i, to);
+      if (n > 0) {
+        i += n - 1;
+        end = i + 1;
+      }
+    }
+    return end;
+  }
+
+  /** A {@code CharSequence} view over ASCII bytes. */
+  private static final class AsciiCharSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+
+    private final int from;
+
+    private final int to;
+
+    AsciiCharSequence(ByteBuffer buffer, int from, int to) {
+      this.buffer = buffer;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int length() {
+      return to - from;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= to - from) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return (char) buffer.get(from + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if (start < 0 || start > end || end > to - from) {
+        throw new IndexOutOfBoundsException();
+      }
+      return new AsciiCharSequence(buffer, from + start, from + end);
+    }
+
+    @Override
+    public String toString() {
+      byte[] bytes = new byte[to - from];
+      buffer.get(from, bytes);
+      return new String(bytes, 0, bytes.length, UTF_8);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Utf8Matcher[" + regularExpression + "]";
+  }
+
+}
@@ -0,0 +1,96 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.benchmark;
+
+import com.flowingcode.vaadin.addons.regex.AdaptiveMatcher;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Compares {@link AdaptiveMatcher} with matching the compiled pattern.
+ *
+ * <p>
+ * This is not a unit test. Run it with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=...AdaptiveMatcherBenchmark}, or from the IDE.
+ * </p>
+ */
+public class AdaptiveMatcherBenchmark {
+
+  private static final int RECORDS = 10_000;
+
+  private static final int ITERATIONS = 200;
+
+  private static String[] records() {
+    Random random = new Random(0);
+    String alphabet = "abcdefghij-_0123456789";
+    String[] records = new String[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      StringBuilder sb = new StringBuilder();
+      for (int j = 20 + random.nextInt(60); j > 0; j--) {
+        sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      records[i] = sb.toString();
+    }
+    return records;
+  }
+
+  private static long run(String[] records, Predicate<String> predicate) {
+    long count = 0;
+    for (String record : records) {
+      if (predicate.test(record)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static void measure(String label, String[] records, Predicate<String> predicate) {
+    // warm up
+    long count = 0;
+    for (int i = 0; i < ITERATIONS / 4; i++) {
+      count += run(records, predicate);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      count += run(records, predicate);
+    }
+    long nanos = System.nanoTime() - start;
+    System.out.printf("%-40s %8.1f ns/record (%d)%n", label,
+        (double) nanos / ITERATIONS / records.length, count);
+  }
+
+  public static void main(String[] args) {
+    String[] records = records();
+    RegularExpression[] regexes = {new RegularExpression(RegularExpressionOperator.CONTAINS, "abc"),
+        new RegularExpression(RegularExpressionOperator.STARTS_WITH, "ab"),
+        new RegularExpression(RegularExpressionOperator.ADVANCED, "[a-f]+-\\d{2}.*"),
+        new RegularExpression(RegularExpressionOperator.ADVANCED, "[\\w-]*"),
+        new RegularExpression(RegularExpressionOperator.ADVANCED, "(ab|cd).*")};
+
+    for (RegularExpression regex : regexes) {
+      var matcher = new AdaptiveMatcher(regex);
+      measure(regex + " (pattern)", records, s -> regex.getPattern().matcher(s).matches());
+      measure(regex + " (adaptive)", records, matcher::matches);
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.benchmark;
+
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures the startup cost of {@link RegularExpressionRegistry} and the latency of the first
+ * requests, with and without warm-up.
+ *
+ * <p>
+ * This is not a unit test. Since class loading and JIT compilation only happen once per JVM, each
+ * scenario must run in a fresh JVM: run it with {@code cold} and {@code warm} as arguments, e.g.
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=...RegularExpressionRegistryBenchmark -Dexec.args=warm}, or from the IDE.
+ * </p>
+ */
+public class RegularExpressionRegistryBenchmark {
+
+  private static final int DEFINITIONS = 300;
+
+  private static final int REQUESTS = 5;
+
+  private static final int RECORDS = 1000;
+
+  private static Map<String, String> definitions() {
+    Random random = new Random(0);
+    RegularExpressionOperator[] operators = RegularExpressionOperator.values();
+    Map<String, String> definitions = new HashMap<>();
+    for (int i = 0; i < DEFINITIONS; i++) {
+      var operator = operators[random.nextInt(operators.length)];
+      String input = operator == RegularExpressionOperator.ADVANCED
+          ? "[A-Z]{3}-\\d{" + (1 + random.nextInt(4)) + "}.*" + i
+          : "KEY-" + i;
+      definitions.put("filter." + i, operator + " " + input);
+    }
+    return definitions;
+  }
+
+  private static String[] records() {
+    Random random = new Random(1);
+    String[] records = new String[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      records[i] = (random.nextBoolean() ? "KEY-" : "ABC-") + random.nextInt(DEFINITIONS * 10);
+    }
+    return records;
+  }
+
+  /** Simulates a request that applies one of the registered filters to some data. */
+  private static long request(RegularExpressionRegistry registry, String name, String[] records) {
+    RegularExpression regex = registry.get(name).orElseThrow();
+    long count = 0;
+    for (String record : records) {
+      if (regex.getPattern().matcher(record).matches()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  public static void main(String[] args) {
+    boolean warm = args.length > 0 && args[0].equals("warm");
+    Map<String, String> definitions = definitions();
+    String[] records = records();
+
+    long start = System.nanoTime();
+    var registry = RegularExpressionRegistry.of(definitions);
+    long loaded = System.nanoTime();
+    if (warm) {
+      registry.warmUp(1000);
+    }
+    long ready = System.nanoTime();
+
+    System.out.printf("load %d definitions: %8.2f ms%n", registry.size(), (loaded - start) / 1e6);
+    System.out.printf("warm-up:                %8.2f ms%n", (ready - loaded) / 1e6);
+
+    for (int i = 0; i < REQUESTS; i++) {
+      long t0 = System.nanoTime();
+      long count = request(registry, "filter." + i, records);
+      long t1 = System.nanoTime();
+      System.out.printf("request %d:              %8.2f ms (%d)%n", i + 1, (t1 - t0) / 1e6, count);
+    }
+  }
+
+}
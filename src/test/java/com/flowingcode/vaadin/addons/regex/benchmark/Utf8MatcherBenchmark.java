@@ -0,0 +1,111 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import com.flowingcode.vaadin.addons.regex.Utf8Matcher;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Compares {@link Utf8Matcher} with decoding the buffers into strings and matching them with the
+ * compiled pattern.
+ *
+ * <p>
+ * This is not a unit test. Run it with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=...Utf8MatcherBenchmark}, or from the IDE.
+ * </p>
+ */
+public class Utf8MatcherBenchmark {
+
+  private static final int RECORDS = 10_000;
+
+  private static final int ITERATIONS = 200;
+
+  private static ByteBuffer[] records(boolean direct, boolean ascii) {
+    Random random = new Random(0);
+    String alphabet = ascii ? "abcdefghij-_0123456789" : "abcdefgh\u00E9\u00F1-_0123";
+    ByteBuffer[] records = new ByteBuffer[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      StringBuilder sb = new StringBuilder();
+      for (int j = 20 + random.nextInt(60); j > 0; j--) {
+        sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      byte[] bytes = sb.toString().getBytes(UTF_8);
+      records[i] = direct ? ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()
+          : ByteBuffer.wrap(bytes);
+    }
+    return records;
+  }
+
+  private static long run(ByteBuffer[] records, Predicate<ByteBuffer> predicate) {
+    long count = 0;
+    for (ByteBuffer record : records) {
+      if (predicate.test(record)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static void measure(String name, ByteBuffer[] records,
+      Predicate<ByteBuffer> predicate) {
+    long count = 0;
+    // warm-up
+    for (int i = 0; i < ITERATIONS; i++) {
+      count += run(records, predicate);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      count += run(records, predicate);
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%-40s %8.1f ns/record (%d)%n", name,
+        (double) elapsed / ITERATIONS / records.length, count);
+  }
+
+  public static void main(String[] args) {
+    RegularExpression[] expressions = {
+        new RegularExpression(RegularExpressionOperator.STARTS_WITH, "abc"),
+        new RegularExpression(RegularExpressionOperator.ENDS_WITH, "abc"),
+        new RegularExpression(RegularExpressionOperator.CONTAINS, "abc"),
+        new RegularExpression(RegularExpressionOperator.EQUALS, "abc"),
+        new RegularExpression(RegularExpressionOperator.ADVANCED, "[a-f]+-.*\\d{2}")};
+
+    for (boolean direct : new boolean[] {false, true}) {
+      for (boolean ascii : new boolean[] {true, false}) {
+        ByteBuffer[] records = records(direct, ascii);
+        System.out.printf("%s buffers, %s content%n", direct ? "direct" : "heap",
+            ascii ? "ASCII" : "non-ASCII");
+        for (RegularExpression regex : expressions) {
+          var matcher = new Utf8Matcher(regex);
+          var pattern = regex.getPattern();
+          measure("  decode " + regex, records,
+              b -> pattern.matcher(UTF_8.decode(b.duplicate()).toString()).matches());
+          measure("  utf8   " + regex, records, matcher::matches);
+        }
+      }
+    }
+  }
+
+}
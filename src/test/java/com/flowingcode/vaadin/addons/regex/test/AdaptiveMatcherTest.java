@@ -0,0 +1,164 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import com.flowingcode.vaadin.addons.regex.AdaptiveMatcher;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.junit.Test;
+
+public class AdaptiveMatcherTest {
+
+  private static void assertSameResult(AdaptiveMatcher matcher, String s) {
+    RegularExpression regex = matcher.getRegularExpression();
+    DifferentialTesting.assertSameResult(regex, s, matcher.matches(s));
+    DifferentialTesting.assertSameResult(regex, s, matcher.matches(new StringBuilder(s)));
+  }
+
+  private static AdaptiveMatcher advanced(String regex) {
+    return new AdaptiveMatcher(new RegularExpression(RegularExpressionOperator.ADVANCED, regex), 0);
+  }
+
+  @Test
+  public void testOperators() {
+    for (var regex : DifferentialTesting.expressions()) {
+      var matcher = new AdaptiveMatcher(regex, 0);
+      for (String s : DifferentialTesting.ALL_STRINGS) {
+        assertSameResult(matcher, s);
+      }
+    }
+  }
+
+  @Test
+  public void testSpecializedAdvanced() {
+    for (String regex : List.of("abc", "^a.b$", "\\Aa*\\z", "a?b+", "a{2}", "a{2,}", "a{1,3}?",
+        ".*", ".+a.*", "[ab]+", "[^a]*", "[a-c\\d_]*", "[-a]+", "[a-]+", "[\\w.]+", "\\d+\\.\\d*",
+        "\\s\\S", "\\W*", "\\D", "\\x61\\u0062", "\\Qa.b\\E+", "a\\.b", "[\\]a]+", "\\$$")) {
+      var matcher = advanced(regex);
+      assertThat(regex, matcher.isSpecialized(), equalTo(true));
+      for (String s : DifferentialTesting.ALL_STRINGS) {
+        assertSameResult(matcher, s);
+      }
+    }
+  }
+
+  @Test
+  public void testUnsupported() {
+    for (String regex : List.of("(ab)*", "a|b", "a\\b", "(?i)a", "a*+", "[a[b]]", "[a-z&&[^b]]",
+        "\\p{L}", "a\\1", "\\Qa", "a{1,100}", "\uD83D\uDE00", "\\x{1F600}", ".a$b")) {
+      var matcher = advanced(regex);
+      assertThat(regex, matcher.isSpecialized(), equalTo(false));
+      for (String s : DifferentialTesting.ALL_STRINGS) {
+        assertSameResult(matcher, s);
+      }
+    }
+
+    var regex = RegularExpression.of(Pattern.compile("a", Pattern.DOTALL));
+    assertThat(new AdaptiveMatcher(regex, 0).isSpecialized(), equalTo(false));
+  }
+
+  @Test
+  public void testThreshold() {
+    var matcher = new AdaptiveMatcher(new RegularExpression(RegularExpressionOperator.ADVANCED,
+        "a[bc]+"), 3);
+    assertThat(matcher.matches("ab"), equalTo(true));
+    assertThat(matcher.matches("ad"), equalTo(false));
+    assertThat(matcher.isSpecialized(), equalTo(false));
+    assertThat(matcher.matches("acb"), equalTo(true));
+    assertThat(matcher.isSpecialized(), equalTo(true));
+    assertThat(matcher.matches("a"), equalTo(false));
+    assertThat(matcher.getInvocationCount(), equalTo(4L));
+  }
+
+  @Test
+  public void testSharedPerExpression() {
+    var regex = new RegularExpression(RegularExpressionOperator.ADVANCED, "b[cd]+");
+    var first = new AdaptiveMatcher(regex, 3);
+    var second = new AdaptiveMatcher(regex, 3);
+    first.matches("bc");
+    second.matches("bd");
+    assertThat(first.isSpecialized(), equalTo(false));
+    second.matches("bcd");
+    assertThat(first.isSpecialized(), equalTo(true));
+
+    assertThat(second.getInvocationCount(), equalTo(3L));
+
+    // the state is kept by the expression, not shared with equal expressions
+    var third =
+        new AdaptiveMatcher(new RegularExpression(RegularExpressionOperator.ADVANCED, "b[cd]+"));
+    assertThat(third.isSpecialized(), equalTo(false));
+    assertThat(third.getInvocationCount(), equalTo(0L));
+  }
+
+  private static final String[] ATOMS = {"a", "b", "1", ".", "\\d", "\\w", "\\s", "\\S", "\\.",
+      "[ab]", "[^a]", "[a-c1]", "[^\\n]", "\\n", "\\u00E9", "\\Qab\\E", "[\\s\\d]", "\\W"};
+
+  private static final String[] QUANTIFIERS =
+      {"", "", "", "?", "*", "+", "{2}", "{0,2}", "{1,}", "*?", "+?"};
+
+  private static final String ALPHABET = "aab1 .\n\r\u0085\u2028\u00E9_-\uD83D\uDE00";
+
+  private static String randomString(Random random) {
+    return DifferentialTesting.randomString(random, ALPHABET, 8);
+  }
+
+  @Test
+  public void testDifferential() {
+    Random random = new Random(0);
+    int specialized = 0;
+    for (int i = 0; i < 2000; i++) {
+      StringBuilder sb = new StringBuilder(random.nextBoolean() ? "^" : "");
+      for (int n = 1 + random.nextInt(4); n > 0; n--) {
+        sb.append(ATOMS[random.nextInt(ATOMS.length)]);
+        sb.append(QUANTIFIERS[random.nextInt(QUANTIFIERS.length)]);
+      }
+      RegularExpression regex;
+      try {
+        regex = new RegularExpression(RegularExpressionOperator.ADVANCED, sb.toString());
+      } catch (PatternSyntaxException e) {
+        continue;
+      }
+
+      var matcher = new AdaptiveMatcher(regex, 0);
+      if (matcher.isSpecialized()) {
+        specialized++;
+      }
+      for (int j = 0; j < 50; j++) {
+        assertSameResult(matcher, randomString(random));
+      }
+      for (int j = 0; j < 5; j++) {
+        // strings that are likely to match
+        String s = randomString(random);
+        var operator = RegularExpressionOperator.values()[random.nextInt(4)];
+        assertSameResult(new AdaptiveMatcher(new RegularExpression(operator, s), 0),
+            randomString(random) + s + randomString(random));
+      }
+    }
+    assertThat(specialized, greaterThan(1000));
+  }
+
+}
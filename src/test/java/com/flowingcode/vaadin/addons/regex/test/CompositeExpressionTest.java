@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import com.flowingcode.vaadin.addons.regex.CompositeExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import java.util.List;
+import org.junit.Test;
+
+public class CompositeExpressionTest {
+
+  private static final RegularExpression STARTS_WITH_A =
+      new RegularExpression(RegularExpressionOperator.STARTS_WITH, "a");
+
+  private static final RegularExpression CONTAINS_B =
+      new RegularExpression(RegularExpressionOperator.CONTAINS, "b");
+
+  private static final RegularExpression CONTAINS_C =
+      new RegularExpression(RegularExpressionOperator.CONTAINS, "c");
+
+  private static final RegularExpression ADVANCED =
+      new RegularExpression(RegularExpressionOperator.ADVANCED, "[a-c]+");
+
+  private static final List<String> STRINGS =
+      List.of("", "a", "ab", "abc", "b", "bc", "c", "ca", "x", "axb");
+
+  private static boolean matches(RegularExpression regex, String s) {
+    return regex.getPattern().matcher(s).matches();
+  }
+
+  @Test
+  public void testSemantics() {
+    var and = CompositeExpression.and(STARTS_WITH_A, CONTAINS_B, ADVANCED);
+    var or = CompositeExpression.or(STARTS_WITH_A, CONTAINS_B, ADVANCED);
+    var not = CompositeExpression.not(CONTAINS_C);
+    var nested = CompositeExpression.or(and, CompositeExpression.and(not, or.negate()));
+    for (int i = 0; i < 1000; i++) {
+      for (String s : STRINGS) {
+        boolean a = matches(STARTS_WITH_A, s);
+        boolean b = matches(CONTAINS_B, s);
+        boolean c = matches(CONTAINS_C, s);
+        boolean d = matches(ADVANCED, s);
+        assertThat(s, and.test(s), equalTo(a && b && d));
+        assertThat(s, or.test(s), equalTo(a || b || d));
+        assertThat(s, not.test(s), equalTo(!c));
+        assertThat(s, nested.test(s), equalTo(a && b && d || !c && !(a || b || d)));
+      }
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    assertThat(CompositeExpression.and(List.of()).test("a"), equalTo(true));
+    assertThat(CompositeExpression.or(List.of()).test("a"), equalTo(false));
+  }
+
+  @Test
+  public void testCostOrder() {
+    var and = CompositeExpression.and(ADVANCED, CONTAINS_B);
+    assertThat(and.getChildren().get(0).toString(), equalTo(CONTAINS_B.toString()));
+    var or = CompositeExpression.or(ADVANCED, CONTAINS_B);
+    assertThat(or.getChildren().get(0).toString(), equalTo(CONTAINS_B.toString()));
+  }
+
+  @Test
+  public void testShortCircuit() {
+    var and = CompositeExpression.and(CONTAINS_B, ADVANCED);
+    and.test("x");
+    assertThat(and.getChildren().get(1).getEvaluationCount(), equalTo(0L));
+  }
+
+  @Test
+  public void testAdaptiveOrder() {
+    // CONTAINS_B is almost always satisfied, so CONTAINS_C must be evaluated first
+    var and = CompositeExpression.and(CONTAINS_B, CONTAINS_C);
+    assertThat(and.getChildren().get(0).toString(), equalTo(CONTAINS_B.toString()));
+    for (int i = 0; i < 10000; i++) {
+      and.test(i % 10 == 0 ? "bc" : "b");
+    }
+    assertThat(and.getChildren().get(0).toString(), equalTo(CONTAINS_C.toString()));
+  }
+
+}
@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fixtures for testing alternative matchers against the results of
+ * {@link java.util.regex.Matcher#matches()}.
+ */
+final class DifferentialTesting {
+
+  /**
+   * Well-formed strings, with line terminators and supplementary characters at different
+   * positions.
+   */
+  static final List<String> STRINGS = List.of("", "a", "ab", "ba", "aab", "aba", "abab", "xabx",
+      "a\nb", "\na", "\nab", "a\n", "ab\n", "a\r\n", "xa\nbx", "a1", "a12", "1a", "_a-", "a b",
+      "a\tb", "a.b", "xa.bx", "x-a.bx", "\u00E9a", "a\u00E9", "a\u00E9\na", "\u2028ab", "x\u2028ab",
+      "ab\u0085", "\uD83D\uDE00", "\uD83D\uDE00a", "a\uD83D\uDE00", "a\uD83D\uDE00b", "aaaa",
+      "aaaaaaaa");
+
+  /** Strings with unpaired surrogates. */
+  static final List<String> MALFORMED_STRINGS = List.of("\uDE00a", "a\uD83D", "\uDE00\uD83D");
+
+  /** Well-formed and malformed strings. */
+  static final List<String> ALL_STRINGS = Stream.concat(STRINGS.stream(),
+      MALFORMED_STRINGS.stream()).collect(Collectors.toList());
+
+  /** Inputs for the operators, including metacharacters and unpaired surrogates. */
+  static final List<String> INPUTS = List.of("", "a", "ab", "aab", "a\nb", "a.b", "a+", "\u00E9",
+      "\uD83D\uDE00", "\uDE00", "\uD83D");
+
+  private DifferentialTesting() {}
+
+  /** Returns the regular expressions for every operator and input. */
+  static List<RegularExpression> expressions() {
+    List<RegularExpression> expressions = new ArrayList<>();
+    for (var operator : RegularExpressionOperator.values()) {
+      for (String input : INPUTS) {
+        expressions.add(new RegularExpression(operator, input));
+      }
+    }
+    return expressions;
+  }
+
+  /** Returns whether the entire string matches the pattern of the given expression. */
+  static boolean expected(RegularExpression regex, CharSequence s) {
+    return regex.getPattern().matcher(s).matches();
+  }
+
+  /** Asserts that a result is the same as that of the pattern of the given expression. */
+  static void assertSameResult(RegularExpression regex, CharSequence s, boolean actual) {
+    assertThat(regex + " " + s, actual, equalTo(expected(regex, s)));
+  }
+
+  /** Returns the strings that match the given expression, in the same order. */
+  static List<String> bruteForce(List<String> strings, RegularExpression regex) {
+    return strings.stream().filter(s -> expected(regex, s)).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns a random string with less than {@code bound} characters from the given alphabet.
+   * Surrogates in the alphabet are picked individually.
+   */
+  static String randomString(Random random, String alphabet, int bound) {
+    StringBuilder sb = new StringBuilder();
+    for (int j = random.nextInt(bound); j > 0; j--) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return sb.toString();
+  }
+
+  /** Returns a reproducible list of random strings. */
+  static List<String> randomStrings(String alphabet, int bound, int count) {
+    Random random = new Random(0);
+    List<String> strings = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      strings.add(randomString(random, alphabet, bound));
+    }
+    return strings;
+  }
+
+}
@@ -0,0 +1,84 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static com.flowingcode.vaadin.addons.regex.test.DifferentialTesting.bruteForce;
+import static com.flowingcode.vaadin.addons.regex.test.DifferentialTesting.randomStrings;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionIndex;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+public class RegularExpressionIndexTest {
+
+  private static final String ALPHABET = "abcdA.x1\uD83D\uDE00";
+
+  private static final String[] REGEXES = {"abc", "ab", ".*abc.*", "abc.*", ".*abc",
+      "x?abc", "ab?cd.*", "abc+d.*", "a(bc)?d.*", ".*(abc|bcd).*", "abc|bcd", "[ab]bcd.*",
+      ".*\\Qa.c\\E.*", "\\d+abc.*", "(?i)abc.*", ".*ab{0,2}cd.*", ".*ab{2}cd.*", "\\p{L}bcd.*",
+      ".*\\x41bc.*", "(?=abc).*", ".*a\\.c.*", ".*a.c.*", "[]a]bcd.*", ".*\uD83D\uDE00?abc.*",
+      "\\pLabc.*", ".*\\PLabc", "\\uD83D\\uDE00abc.*", ".*\\cAabc.*"};
+
+  @Test
+  public void testAdvanced() {
+    List<String> strings = randomStrings(ALPHABET, 8, 20000);
+    var index = new RegularExpressionIndex(strings);
+    assertThat(index.size(), equalTo(strings.size()));
+    for (String regex : REGEXES) {
+      var r = RegularExpression.of(Pattern.compile(regex));
+      assertThat(regex, index.search(r), equalTo(bruteForce(strings, r)));
+    }
+  }
+
+  @Test
+  public void testUnparsedEscapes() {
+    // the operands of escapes that are not literals must not be taken as required literals
+    List<String> strings = List.of("xabc", "\uD83D\uDE00abc", "\u0001abc");
+    var index = new RegularExpressionIndex(strings);
+    for (String regex : List.of("\\pLabc", "\\PLabc", "\\uD83D\\uDE00abc", "\\cAabc")) {
+      var r = RegularExpression.of(Pattern.compile(regex));
+      assertThat(regex, index.search(r), equalTo(bruteForce(strings, r)));
+    }
+  }
+
+  @Test
+  public void testOperators() {
+    List<String> strings = randomStrings(ALPHABET, 8, 20000);
+    var index = new RegularExpressionIndex(strings);
+    for (var operator : RegularExpressionOperator.values()) {
+      for (String input : List.of("a", "ab", "abc", "a.cd", "zzz")) {
+        var r = new RegularExpression(operator, input);
+        assertThat(r.toString(), index.search(r), equalTo(bruteForce(strings, r)));
+      }
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    var index = new RegularExpressionIndex(List.of());
+    var r = new RegularExpression(RegularExpressionOperator.CONTAINS, "abc");
+    assertThat(index.search(r), equalTo(List.of()));
+  }
+
+}
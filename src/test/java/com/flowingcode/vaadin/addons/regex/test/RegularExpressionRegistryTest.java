@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionRegistry;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegularExpressionRegistryTest {
+
+  private static final String DEFINITIONS = String.join("\n",
+      "# comment",
+      "product.code = STARTS_WITH PRD-",
+      "log.error = ADVANCED .*\\\\bERROR\\\\b.*",
+      "spaces = CONTAINS  a b ");
+
+  @Test
+  public void testLoad() {
+    var registry = RegularExpressionRegistry.load(new StringReader(DEFINITIONS));
+    assertThat(registry.size(), equalTo(3));
+    assertThat(registry.getNames(), equalTo(Set.of("product.code", "log.error", "spaces")));
+    assertThat(registry.get("product.code"),
+        equalTo(Optional.of(new RegularExpression(RegularExpressionOperator.STARTS_WITH, "PRD-"))));
+    assertThat(registry.get("log.error"), equalTo(Optional
+        .of(new RegularExpression(RegularExpressionOperator.ADVANCED, ".*\\bERROR\\b.*"))));
+    assertThat(registry.get("spaces"),
+        equalTo(Optional.of(new RegularExpression(RegularExpressionOperator.CONTAINS, " a b "))));
+    assertThat(registry.get("missing"), equalTo(Optional.empty()));
+  }
+
+  @Test
+  public void testSharedInstances() {
+    var registry = RegularExpressionRegistry.of(Map.of("a", "EQUALS a"));
+    assertThat(registry.get("a").get(), sameInstance(registry.get("a").get()));
+  }
+
+  @Test
+  public void testInvalidDefinitions() {
+    var e = Assert.assertThrows(IllegalArgumentException.class,
+        () -> RegularExpressionRegistry.of(
+            Map.of("ok", "EQUALS a", "bad1", "ADVANCED (", "bad2", "EQUAL a", "bad3", "EQUALS")));
+    assertThat(e.getSuppressed().length, equalTo(3));
+  }
+
+  @Test
+  public void testToStringFormat() {
+    // definitions use the same format as RegularExpression.toString(), even for empty inputs
+    for (var operator : RegularExpressionOperator.values()) {
+      for (String input : List.of("", "a b")) {
+        var regex = new RegularExpression(operator, input);
+        var registry = RegularExpressionRegistry.of(Map.of("r", regex.toString()));
+        assertThat(registry.get("r"), equalTo(Optional.of(regex)));
+      }
+    }
+  }
+
+  @Test
+  public void testWarmUp() {
+    var registry = RegularExpressionRegistry.load(new StringReader(DEFINITIONS));
+    // each expression matches at least its own input
+    assertThat(registry.warmUp(10) >= 20, equalTo(true));
+    assertThat(registry.warmUp(List.of("PRD-1", "an ERROR"), 1) >= 4, equalTo(true));
+  }
+
+}
@@ -0,0 +1,95 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static com.flowingcode.vaadin.addons.regex.test.DifferentialTesting.bruteForce;
+import static com.flowingcode.vaadin.addons.regex.test.DifferentialTesting.randomStrings;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionSortedIndex;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Test;
+
+public class RegularExpressionSortedIndexTest {
+
+  private static final String[] INPUTS =
+      {"a", "ab", "abc", "ba", "\uFFFF", "a\uFFFF", "\uD83D\uDE00", "\uDE00", "zzz", "a\n"};
+
+  private static void testSearch(boolean indexSuffixes) {
+    List<String> strings = randomStrings("abc\n\uFFFF\uD83D\uDE00", 6, 10000);
+    var index = new RegularExpressionSortedIndex(strings, indexSuffixes);
+    assertThat(index.size(), equalTo(strings.size()));
+    assertThat(index.isIndexingSuffixes(), equalTo(indexSuffixes));
+    for (var operator : RegularExpressionOperator.values()) {
+      for (String input : INPUTS) {
+        var r = new RegularExpression(operator, input);
+        var expected = new ArrayList<>(bruteForce(strings, r));
+        if (operator == RegularExpressionOperator.ENDS_WITH && indexSuffixes) {
+          expected.sort(Comparator.comparing(RegularExpressionSortedIndexTest::reverse));
+        } else {
+          expected.sort(null);
+        }
+        assertThat(r.toString(), index.search(r), equalTo(expected));
+      }
+    }
+  }
+
+  /** Reverses the chars of a string, without keeping surrogate pairs together. */
+  private static String reverse(String s) {
+    char[] chars = new char[s.length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = s.charAt(chars.length - 1 - i);
+    }
+    return new String(chars);
+  }
+
+  @Test
+  public void testSearch() {
+    testSearch(true);
+  }
+
+  @Test
+  public void testSearchWithoutSuffixes() {
+    testSearch(false);
+  }
+
+  @Test
+  public void testOrder() {
+    var index = new RegularExpressionSortedIndex(List.of("abc", "ba", "ab", "cab", "b", "ab"));
+    var r = new RegularExpression(RegularExpressionOperator.STARTS_WITH, "a");
+    assertThat(index.search(r), equalTo(List.of("ab", "ab", "abc")));
+    r = new RegularExpression(RegularExpressionOperator.ENDS_WITH, "b");
+    assertThat(index.search(r), equalTo(List.of("b", "ab", "ab", "cab")));
+    r = new RegularExpression(RegularExpressionOperator.CONTAINS, "b");
+    assertThat(index.search(r), equalTo(List.of("ab", "ab", "abc", "b", "ba", "cab")));
+  }
+
+  @Test
+  public void testEmpty() {
+    var index = new RegularExpressionSortedIndex(List.of());
+    var r = new RegularExpression(RegularExpressionOperator.STARTS_WITH, "abc");
+    assertThat(index.search(r), equalTo(List.of()));
+  }
+
+}
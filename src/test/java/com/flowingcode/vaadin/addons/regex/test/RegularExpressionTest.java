@@ -21,17 +21,21 @@ package com.flowingcode.vaadin.addons.regex.test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import com.flowingcode.vaadin.addons.regex.RegularExpression;
 import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.regex.Pattern;
 import org.junit.Test;
 
 public class RegularExpressionTest {
 
   @Test
   public void testAdvanced() {
-    var r = new RegularExpression(RegularExpressionOperator.ADVANCED, ".*");
-    assertThat(r.getPattern().pattern(), equalTo(".*"));
-    assertThat(r.getInput(), equalTo(".*"));
+    var r = new RegularExpression(RegularExpressionOperator.ADVANCED, ".+");
+    assertThat(r.getPattern().pattern(), equalTo(".+"));
+    assertThat(r.getInput(), equalTo(".+"));
 
     var q = RegularExpression.of(r.getPattern());
     assertThat(q, equalTo(r));
@@ -117,7 +121,7 @@ public class RegularExpressionTest {
 
   @Test
   public void testQuoteChars() {
-    for (char c : ".?+*[({$^|\\".toCharArray()) {
+    for (char c : ".?+*[(){$^|\\".toCharArray()) {
       var r = new RegularExpression(RegularExpressionOperator.CONTAINS, Character.toString(c));
       assertThat(r.getPattern().pattern(), equalTo(".*\\" + c + ".*"));
       assertThat(r.getInput(), equalTo(Character.toString(c)));
@@ -128,4 +132,146 @@ public class RegularExpressionTest {
     }
   }
 
+  @Test
+  public void testEquals() {
+    var r = new RegularExpression(RegularExpressionOperator.EQUALS, "a.b");
+    assertThat(r.getPattern().pattern(), equalTo("a\\.b"));
+    assertThat(r.getInput(), equalTo("a.b"));
+
+    var q = RegularExpression.of(r.getPattern());
+    assertThat(q, equalTo(r));
+    assertThat(q.getPattern().pattern(), equalTo(r.getPattern().pattern()));
+  }
+
+  private static void assertNormalized(String regex, RegularExpressionOperator operator,
+      String input) {
+    var q = RegularExpression.of(Pattern.compile(regex));
+    assertThat(q, equalTo(new RegularExpression(operator, input)));
+  }
+
+  private static void assertNotNormalized(String regex) {
+    var q = RegularExpression.of(Pattern.compile(regex));
+    assertThat(q, equalTo(new RegularExpression(RegularExpressionOperator.ADVANCED, regex)));
+  }
+
+  @Test
+  public void testNormalizeAnchors() {
+    assertNormalized("^foo.*$", RegularExpressionOperator.STARTS_WITH, "foo");
+    assertNormalized("^.*foo$", RegularExpressionOperator.ENDS_WITH, "foo");
+    assertNormalized("\\Afoo\\z", RegularExpressionOperator.EQUALS, "foo");
+    assertNormalized("^foo$", RegularExpressionOperator.EQUALS, "foo");
+    assertNormalized("^$", RegularExpressionOperator.EQUALS, "");
+    assertNormalized("^.*$", RegularExpressionOperator.CONTAINS, "");
+  }
+
+  @Test
+  public void testNormalizeWildcards() {
+    assertNormalized(".*?foo.*", RegularExpressionOperator.CONTAINS, "foo");
+    assertNormalized(".*foo.*?", RegularExpressionOperator.CONTAINS, "foo");
+    assertNormalized(".*.*foo", RegularExpressionOperator.ENDS_WITH, "foo");
+    assertNormalized("", RegularExpressionOperator.EQUALS, "");
+    assertNormalized(".*", RegularExpressionOperator.CONTAINS, "");
+    assertNormalized(".*?.*", RegularExpressionOperator.CONTAINS, "");
+    assertNotNormalized(".*+foo");
+    assertNotNormalized("foo.*bar");
+  }
+
+  @Test
+  public void testNormalizeLiterals() {
+    assertNormalized("foo", RegularExpressionOperator.EQUALS, "foo");
+    assertNormalized("[.]", RegularExpressionOperator.EQUALS, ".");
+    assertNormalized("a[.]b.*", RegularExpressionOperator.STARTS_WITH, "a.b");
+    assertNormalized(".*\\Qa.b\\E", RegularExpressionOperator.ENDS_WITH, "a.b");
+    assertNormalized("\\t\\x41\\u0042", RegularExpressionOperator.EQUALS, "\tAB");
+    assertNotNormalized("fo+");
+    assertNotNormalized("[^o]");
+    assertNotNormalized("\\d");
+    assertNotNormalized("a\\Q\\E*");
+  }
+
+  @Test
+  public void testNormalizeClosingParenthesis() {
+    assertNormalized("\\)", RegularExpressionOperator.EQUALS, ")");
+    assertNormalized("[)]", RegularExpressionOperator.EQUALS, ")");
+    assertNormalized(".*\\Q)\\E", RegularExpressionOperator.ENDS_WITH, ")");
+    assertNormalized(".*\\).*", RegularExpressionOperator.CONTAINS, ")");
+  }
+
+  @Test
+  public void testNormalizeRoundTrip() {
+    var inputs = new ArrayList<String>();
+    var all = new StringBuilder();
+    for (char c = ' '; c <= '~'; c++) {
+      inputs.add(Character.toString(c));
+      inputs.add("a" + c + "b");
+      all.append(c);
+    }
+    inputs.add(all.toString());
+    for (var operator : RegularExpressionOperator.values()) {
+      if (operator == RegularExpressionOperator.ADVANCED) {
+        continue;
+      }
+      for (String input : inputs) {
+        var r = new RegularExpression(operator, input);
+        assertThat(r.toString(), RegularExpression.of(r.getPattern()), equalTo(r));
+      }
+    }
+    assertNormalized("a]}", RegularExpressionOperator.EQUALS, "a]}");
+    assertNotNormalized("a{2}");
+  }
+
+  @Test
+  public void testNormalizeFlags() {
+    var p = Pattern.compile(".*foo.*", Pattern.DOTALL);
+    assertThat(RegularExpression.of(p).getOperator(), equalTo(RegularExpressionOperator.ADVANCED));
+    assertThat(RegularExpression.of(p).getPattern(), sameInstance(p));
+    assertNotNormalized("(?s).*foo.*");
+  }
+
+  @Test
+  public void testPrefixAndSuffix() {
+    var r = new RegularExpression(RegularExpressionOperator.STARTS_WITH, "foo");
+    assertThat(r.getPrefix(), equalTo(Optional.of("foo")));
+    assertThat(r.getSuffix(), equalTo(Optional.empty()));
+
+    r = new RegularExpression(RegularExpressionOperator.ENDS_WITH, "foo");
+    assertThat(r.getPrefix(), equalTo(Optional.empty()));
+    assertThat(r.getSuffix(), equalTo(Optional.of("foo")));
+
+    r = new RegularExpression(RegularExpressionOperator.EQUALS, "foo");
+    assertThat(r.getPrefix(), equalTo(Optional.of("foo")));
+    assertThat(r.getSuffix(), equalTo(Optional.of("foo")));
+
+    r = new RegularExpression(RegularExpressionOperator.CONTAINS, "foo");
+    assertThat(r.getPrefix(), equalTo(Optional.empty()));
+    assertThat(r.getSuffix(), equalTo(Optional.empty()));
+  }
+
+  @Test
+  public void testProfile() {
+    var r = new RegularExpression(RegularExpressionOperator.ADVANCED, "(x+x+)+y");
+    var p = r.profile("xxxxy");
+    assertThat(p.isMatched(), equalTo(true));
+    assertThat(p.getLength(), equalTo(5));
+
+    // catastrophic backtracking reads the input many times
+    var q = r.profile("xxxxxxxxxxxxxxxx");
+    assertThat(q.isMatched(), equalTo(false));
+    assertThat(q.getReads() > q.getLength() * 10L, equalTo(true));
+    assertThat(q.getReadsPerChar() > p.getReadsPerChar(), equalTo(true));
+  }
+
+  @Test
+  public void testProfileExceeded() {
+    var r = new RegularExpression(RegularExpressionOperator.ADVANCED, "(x+x+)+y");
+    var p = r.profile("x".repeat(40), 1000);
+    assertThat(p.isExceeded(), equalTo(true));
+    assertThat(p.isMatched(), equalTo(false));
+    assertThat(p.getReads(), equalTo(1000L));
+
+    var q = r.profile("xxxxy", 1000);
+    assertThat(q.isExceeded(), equalTo(false));
+    assertThat(q.isMatched(), equalTo(true));
+  }
+
 }
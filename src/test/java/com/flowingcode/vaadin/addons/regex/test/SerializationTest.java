@@ -20,11 +20,14 @@
 package com.flowingcode.vaadin.addons.regex.test;
 
 import com.flowingcode.vaadin.addons.regex.RegularExpressionField;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionTestField;
+import com.vaadin.flow.component.grid.Grid;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.regex.Pattern;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -49,4 +52,23 @@ public class SerializationTest {
       Assert.fail("Problem while testing serialization: " + e.getMessage());
     }
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSerializationWithProfiling() throws ClassNotFoundException, IOException {
+    var field = new RegularExpressionTestField();
+    field.setPattern(Pattern.compile("(x+x+)+y"));
+    field.setProfilingEnabled(true);
+    field.setItems("xxxy", "xxxx");
+
+    // compute the profiles, as rendering the rows would do
+    var grid = (Grid<String[]>) field.getChildren().findFirst().orElseThrow();
+    grid.getListDataView().getItems().forEach(grid.getPartNameGenerator()::apply);
+
+    try {
+      testSerializationOf(field);
+    } catch (Exception e) {
+      Assert.fail("Problem while testing serialization: " + e.getMessage());
+    }
+  }
 }
@@ -0,0 +1,79 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import com.flowingcode.vaadin.addons.regex.StreamingMatcher;
+import java.util.List;
+import org.junit.Test;
+
+public class StreamingMatcherTest {
+
+  private static void assertSameResult(RegularExpression regex, String s) {
+    var matcher = new StreamingMatcher(regex);
+    for (int chunkSize = 1; chunkSize <= 3; chunkSize++) {
+      matcher.reset();
+      for (int i = 0; i < s.length(); i += chunkSize) {
+        matcher.append(s.substring(i, Math.min(s.length(), i + chunkSize)));
+      }
+      DifferentialTesting.assertSameResult(regex, s, matcher.matches());
+      if (matcher.isRejected()) {
+        DifferentialTesting.assertSameResult(regex, s, false);
+      }
+    }
+  }
+
+  @Test
+  public void testOperators() {
+    for (var regex : DifferentialTesting.expressions()) {
+      for (String s : DifferentialTesting.ALL_STRINGS) {
+        assertSameResult(regex, s);
+      }
+    }
+  }
+
+  @Test
+  public void testAdvanced() {
+    for (String input : List.of("a.*b", "(ab)+", "x?a\\nb.*", "[^\\n]*")) {
+      var regex = new RegularExpression(RegularExpressionOperator.ADVANCED, input);
+      for (String s : DifferentialTesting.ALL_STRINGS) {
+        assertSameResult(regex, s);
+      }
+    }
+  }
+
+  @Test
+  public void testRejected() {
+    var matcher =
+        new StreamingMatcher(new RegularExpression(RegularExpressionOperator.STARTS_WITH, "ab"));
+    matcher.append("ax");
+    assertThat(matcher.isRejected(), equalTo(true));
+    matcher.append("ab");
+    assertThat(matcher.matches(), equalTo(false));
+
+    matcher = new StreamingMatcher(new RegularExpression(RegularExpressionOperator.ADVANCED, "a+"));
+    matcher.append("b".repeat(100));
+    assertThat(matcher.isRejected(), equalTo(true));
+  }
+
+}
@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * Regular Expression Field Add-on
+ * %%
+ * Copyright (C) 2025 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.regex.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import com.flowingcode.vaadin.addons.regex.RegularExpression;
+import com.flowingcode.vaadin.addons.regex.RegularExpressionOperator;
+import com.flowingcode.vaadin.addons.regex.Utf8Matcher;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class Utf8MatcherTest {
+
+  private static void assertSameResult(RegularExpression regex, String s) {
+    byte[] bytes = s.getBytes(UTF_8);
+    var matcher = new Utf8Matcher(regex);
+    DifferentialTesting.assertSameResult(regex, s, matcher.matches(bytes));
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+    direct.position(1);
+    direct.put(bytes);
+    direct.position(1).limit(bytes.length + 1);
+    DifferentialTesting.assertSameResult(regex, s, matcher.matches(direct));
+    assertThat(direct.position(), equalTo(1));
+  }
+
+  @Test
+  public void testOperators() {
+    // unpaired surrogates cannot be encoded in UTF-8
+    for (var regex : DifferentialTesting.expressions()) {
+      for (String s : DifferentialTesting.STRINGS) {
+        assertSameResult(regex, s);
+      }
+    }
+  }
+
+  @Test
+  public void testOffset() {
+    var matcher = new Utf8Matcher(new RegularExpression(RegularExpressionOperator.EQUALS, "ab"));
+    byte[] bytes = "xaby".getBytes(UTF_8);
+    assertThat(matcher.matches(bytes, 1, 2), equalTo(true));
+    assertThat(matcher.matches(bytes, 0, 3), equalTo(false));
+  }
+
+}